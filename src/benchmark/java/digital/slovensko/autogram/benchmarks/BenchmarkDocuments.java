@@ -0,0 +1,76 @@
+package digital.slovensko.autogram.benchmarks;
+
+import digital.slovensko.autogram.FakeTokenDriver;
+import digital.slovensko.autogram.core.SigningKey;
+import eu.europa.esig.dss.enumerations.MimeTypeEnum;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public class BenchmarkDocuments {
+    private static final String GENERAL_AGENDA = "<GeneralAgenda xmlns=\"http://schemas.gov.sk/form/App.GeneralAgenda/1.9\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"><subject>Testovacie podanie</subject><text>%s</text></GeneralAgenda>";
+
+    public static SigningKey createSigningKey() {
+        var token = new FakeTokenDriver("benchmark").createTokenWithPassword(null, null);
+        return new SigningKey(token, token.getKeys().get(0));
+    }
+
+    public static byte[] randomBytes(DocumentSize size) {
+        var bytes = new byte[size.getBytes()];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    public static DSSDocument binary(DocumentSize size) {
+        return new InMemoryDocument(randomBytes(size), "benchmark.bin", MimeTypeEnum.BINARY);
+    }
+
+    public static DSSDocument xml(DocumentSize size) {
+        var xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><data>");
+        for (int i = 0; xml.length() < size.getBytes(); i++)
+            xml.append("<item id=\"").append(i).append("\">Autogram benchmark item</item>");
+        xml.append("</data>");
+
+        return new InMemoryDocument(xml.toString().getBytes(StandardCharsets.UTF_8), "benchmark.xml", MimeTypeEnum.XML);
+    }
+
+    public static DSSDocument generalAgenda(DocumentSize size) {
+        var text = "Podávam túto testovaciu všeobecnú žiadosť. ".repeat(Math.max(1, size.getBytes() / 50));
+        var content = GENERAL_AGENDA.formatted(text).getBytes(StandardCharsets.UTF_8);
+
+        return new InMemoryDocument(content, "general_agenda.xml", MimeTypeEnum.XML);
+    }
+
+    public static DSSDocument pdf(DocumentSize size) throws IOException {
+        try (var pdf = new PDDocument(); var out = new ByteArrayOutputStream()) {
+            for (int i = 0; i < size.getPdfPages(); i++) {
+                var page = new PDPage();
+                pdf.addPage(page);
+                try (var content = new PDPageContentStream(pdf, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 12);
+                    content.newLineAtOffset(50, 700);
+                    content.showText("Autogram benchmark page " + i);
+                    content.endText();
+                }
+            }
+            pdf.save(out);
+
+            return new InMemoryDocument(out.toByteArray(), "benchmark.pdf", MimeTypeEnum.PDF);
+        }
+    }
+
+    public static String readResource(String name) throws IOException {
+        try (var stream = FakeTokenDriver.class.getResourceAsStream(name)) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package digital.slovensko.autogram.benchmarks;
+
+public enum DocumentSize {
+    SMALL(10 * 1024, 1),
+    MEDIUM(1024 * 1024, 50),
+    LARGE(10 * 1024 * 1024, 500);
+
+    private final int bytes;
+    private final int pdfPages;
+
+    DocumentSize(int bytes, int pdfPages) {
+        this.bytes = bytes;
+        this.pdfPages = pdfPages;
+    }
+
+    public int getBytes() {
+        return bytes;
+    }
+
+    public int getPdfPages() {
+        return pdfPages;
+    }
+}
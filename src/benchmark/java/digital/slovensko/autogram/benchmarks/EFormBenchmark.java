@@ -0,0 +1,73 @@
+package digital.slovensko.autogram.benchmarks;
+
+import digital.slovensko.autogram.core.AutogramMimeType;
+import digital.slovensko.autogram.core.SigningParameters;
+import digital.slovensko.autogram.core.eforms.EFormUtils;
+import digital.slovensko.autogram.core.eforms.XDCBuilder;
+import digital.slovensko.autogram.core.eforms.XDCValidator;
+import eu.europa.esig.dss.enumerations.ASiCContainerType;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.crypto.dsig.CanonicalizationMethod;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EFormBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public DocumentSize size;
+
+    private String xsd;
+    private String xslt;
+    private DSSDocument document;
+    private DSSDocument xdcDocument;
+    private SigningParameters parameters;
+
+    @Setup
+    public void setup() throws Exception {
+        xsd = BenchmarkDocuments.readResource("general_agenda.xsd");
+        xslt = BenchmarkDocuments.readResource("general_agenda.xslt");
+        document = BenchmarkDocuments.generalAgenda(size);
+
+        parameters = SigningParameters.buildFromRequest(
+                SignatureLevel.XAdES_BASELINE_B,
+                ASiCContainerType.ASiC_E,
+                "http://data.gov.sk/def/container/xmldatacontainer+xml/1.1",
+                SignaturePackaging.ENVELOPING,
+                DigestAlgorithm.SHA256,
+                false,
+                CanonicalizationMethod.INCLUSIVE,
+                CanonicalizationMethod.INCLUSIVE,
+                CanonicalizationMethod.INCLUSIVE,
+                xsd,
+                xslt,
+                "http://data.gov.sk/doc/eform/App.GeneralAgenda/1.9",
+                false, 800, false, document);
+
+        xdcDocument = XDCBuilder.transform(parameters, document.getName(), EFormUtils.getXmlFromDocument(document));
+        xdcDocument.setMimeType(AutogramMimeType.XML_DATACONTAINER);
+    }
+
+    @Benchmark
+    public DSSDocument xdcBuilderTransform() {
+        return XDCBuilder.transform(parameters, document.getName(), EFormUtils.getXmlFromDocument(document));
+    }
+
+    @Benchmark
+    public void xdcValidatorValidateXml() {
+        XDCValidator.validateXml(xsd, xslt, xdcDocument, CanonicalizationMethod.INCLUSIVE, DigestAlgorithm.SHA256);
+    }
+
+    @Benchmark
+    public String eFormUtilsTransform() {
+        return EFormUtils.transform(document, xslt);
+    }
+}
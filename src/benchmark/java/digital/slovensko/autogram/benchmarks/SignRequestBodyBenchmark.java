@@ -0,0 +1,54 @@
+package digital.slovensko.autogram.benchmarks;
+
+import digital.slovensko.autogram.server.SignRequestBodyParser;
+import digital.slovensko.autogram.server.SignResponseWriter;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignRequestBodyBenchmark {
+    private static final String REQUEST = """
+            {"document":{"filename":"benchmark.bin","content":"%s"},"parameters":{"level":"CAdES_BASELINE_B","container":"ASiC_E"},"payloadMimeType":"application/octet-stream;base64"}""";
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public DocumentSize size;
+
+    private byte[] request;
+    private DSSDocument signedDocument;
+
+    @Setup
+    public void setup() {
+        var content = BenchmarkDocuments.randomBytes(size);
+        request = REQUEST.formatted(Base64.getEncoder().encodeToString(content)).getBytes(StandardCharsets.UTF_8);
+        signedDocument = new InMemoryDocument(content);
+    }
+
+    @Benchmark
+    public DSSDocument decode() throws IOException {
+        var body = SignRequestBodyParser.parse(new ByteArrayInputStream(request));
+        try {
+            body.validateDocument();
+            return body.getDocument();
+        } finally {
+            body.deleteTemporaryFiles();
+        }
+    }
+
+    @Benchmark
+    public void encode() throws IOException {
+        SignResponseWriter.write(OutputStream.nullOutputStream(), signedDocument, "CN=Benchmark", "CN=Benchmark CA");
+    }
+}
@@ -0,0 +1,100 @@
+package digital.slovensko.autogram.benchmarks;
+
+import digital.slovensko.autogram.core.Responder;
+import digital.slovensko.autogram.core.SignatureServices;
+import digital.slovensko.autogram.core.SignedDocument;
+import digital.slovensko.autogram.core.SigningJob;
+import digital.slovensko.autogram.core.SigningKey;
+import digital.slovensko.autogram.core.SigningParameters;
+import digital.slovensko.autogram.core.errors.AutogramException;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole signing job with a software token. Run with {@code -prof gc} and compare {@code sharedServices}
+ * to see allocations saved by reusing signature services.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SigningBenchmark {
+    @Param({"PAdES", "XAdES", "CAdES", "ASiC_E_XAdES", "ASiC_E_CAdES"})
+    public String format;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public DocumentSize size;
+
+    @Param({"true", "false"})
+    public boolean sharedServices;
+
+    private SigningKey key;
+    private SignatureServices services;
+    private DSSDocument document;
+    private SigningParameters parameters;
+
+    @Setup
+    public void setup() throws Exception {
+        key = BenchmarkDocuments.createSigningKey();
+        services = new SignatureServices();
+
+        switch (format) {
+            case "PAdES" -> {
+                document = BenchmarkDocuments.pdf(size);
+                parameters = SigningParameters.buildForPDF(document.getName(), document, false, false);
+            }
+            case "XAdES" -> {
+                document = BenchmarkDocuments.xml(size);
+                parameters = buildWithoutContainer(SignatureLevel.XAdES_BASELINE_B, SignaturePackaging.ENVELOPED);
+            }
+            case "CAdES" -> {
+                document = BenchmarkDocuments.binary(size);
+                parameters = buildWithoutContainer(SignatureLevel.CAdES_BASELINE_B, SignaturePackaging.ENVELOPING);
+            }
+            case "ASiC_E_XAdES" -> {
+                document = BenchmarkDocuments.binary(size);
+                parameters = SigningParameters.buildForASiCWithXAdES(document.getName(), document, false);
+            }
+            case "ASiC_E_CAdES" -> {
+                document = BenchmarkDocuments.binary(size);
+                parameters = SigningParameters.buildForASiCWithCAdES(document.getName(), document, false);
+            }
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        key.close();
+    }
+
+    @Benchmark
+    public void sign(Blackhole blackhole) throws Exception {
+        var job = SigningJob.buildFromRequest(document, parameters, new Responder() {
+            @Override
+            public void onDocumentSigned(SignedDocument signedDocument) {
+                blackhole.consume(signedDocument.getDocument());
+            }
+
+            @Override
+            public void onDocumentSignFailed(AutogramException error) {
+                throw error;
+            }
+        });
+
+        job.signWithKeyAndRespond(key, sharedServices ? services : new SignatureServices());
+    }
+
+    private SigningParameters buildWithoutContainer(SignatureLevel level, SignaturePackaging packaging) {
+        return SigningParameters.buildFromRequest(level, null, null, packaging, DigestAlgorithm.SHA256, false,
+                null, null, null, null, null, null, false, 640, false, document);
+    }
+}
@@ -23,7 +23,8 @@ public class AppStarter {
         addOption("d", "driver", true, "PCKS driver name for signing. Supported values: eid, secure_store, monet, gemalto.").
         addOption(null, "slot-id", true, "Slot ID for PKCS11 driver. If not specified, first available slot is used.").
         addOption(null, "pdf-level", true, "PDF signature level. Supported values: PAdES_BASELINE_B (default), XAdES_BASELINE_B, CAdES_BASELINE_B.").
-        addOption(null, "en319132", false, "Sign according to EN 319 132 or EN 319 122.");
+        addOption(null, "en319132", false, "Sign according to EN 319 132 or EN 319 122.").
+        addOption(null, "parallelism", true, "Number of files prepared and saved in parallel when signing a directory. Token signing itself is always serialized. Default is 1.");
 
     public static void start(String[] args) {
         try {
@@ -72,6 +73,7 @@ public class AppStarter {
                 autogram --cli -s target/directory-example -t target/non-existent-dir/output-example --parents
                 autogram --cli -s target/directory-example/file-example.pdf -pdfa
                 autogram --cli -s target/directory-example/file-example.pdf -d eid
+                autogram --cli -s target/directory-example -t target/output-example --parallelism 4
                 """;
         final PrintWriter pw = new PrintWriter(System.out);
         formatter.printUsage(pw, 80, syntax);
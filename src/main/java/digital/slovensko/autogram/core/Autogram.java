@@ -1,10 +1,9 @@
 package digital.slovensko.autogram.core;
 
 import digital.slovensko.autogram.core.errors.AutogramException;
-import digital.slovensko.autogram.core.errors.BatchConflictException;
-import digital.slovensko.autogram.core.errors.BatchNotStartedException;
 import digital.slovensko.autogram.core.errors.ResponseNetworkErrorException;
 import digital.slovensko.autogram.core.errors.UnrecognizedException;
+import digital.slovensko.autogram.core.eforms.XDCValidator;
 import digital.slovensko.autogram.core.visualization.DocumentVisualizationBuilder;
 import digital.slovensko.autogram.core.visualization.UnsupportedVisualization;
 import digital.slovensko.autogram.drivers.TokenDriver;
@@ -22,11 +21,12 @@ import java.util.function.Consumer;
 
 public class Autogram {
     private final UI ui;
-    /** Current batch, should be null if no batch was started yet */
-    private Batch batch = null;
+    private final BatchRegistry batches;
     private final DriverDetector driverDetector;
     private final boolean shouldDisplayVisualizationError;
     private final Integer slotId;
+    private final SignatureServices signatureServices = new SignatureServices();
+    private final SigningPipeline signingPipeline = new SigningPipeline(signatureServices);
 
     public Autogram(UI ui, boolean shouldDisplayVisualizationError) {
         this(ui, shouldDisplayVisualizationError, new DefaultDriverDetector(), -1);
@@ -41,7 +41,12 @@ public class Autogram {
     }
 
     public Autogram(UI ui, boolean shouldDisplayVisualizationError , DriverDetector driverDetector, Integer slotId) {
+        this(ui, shouldDisplayVisualizationError, driverDetector, slotId, BatchRegistry.DEFAULT_MAX_BATCHES);
+    }
+
+    public Autogram(UI ui, boolean shouldDisplayVisualizationError , DriverDetector driverDetector, Integer slotId, int maxBatches) {
         this.ui = ui;
+        this.batches = new BatchRegistry(maxBatches, batch -> ui.onUIThreadDo(() -> ui.cancelBatch(batch)));
         this.driverDetector = driverDetector;
         this.slotId = slotId;
         this.shouldDisplayVisualizationError = shouldDisplayVisualizationError;
@@ -53,25 +58,21 @@ public class Autogram {
     }
 
     public void checkAndValidateSignatures(SigningJob job) {
-        checkSignatures(job);
-
-        var reports = SignatureValidator.getInstance().getSignatureValidationReport(job);
-        if (!reports.haveSignatures())
+        var session = new ValidationSession(job);
+        var checkReports = session.check();
+        ui.onUIThreadDo(() -> ui.onSignatureCheckCompleted(checkReports));
+        if (!checkReports.haveSignatures())
             return;
 
+        var reports = session.validate();
         ui.onUIThreadDo(() -> ui.onSignatureValidationCompleted(reports));
     }
 
-    private void checkSignatures(SigningJob job) {
-        var reports = SignatureValidator.getSignatureCheckReport(job);
-        ui.onUIThreadDo(() -> ui.onSignatureCheckCompleted(reports));
-    }
-
     public void checkPDFACompliance(SigningJob job) {
         if (!job.shouldCheckPDFCompliance())
             return;
 
-        ui.onWorkThreadDo(() -> {
+        ui.onWorkThreadDo(ExecutorRegistry.Lane.VALIDATION, job, () -> {
             var result = new PDFAStructureValidator().validate(job.getDocument());
             if (!result.isCompliant()) {
                 ui.onUIThreadDo(() -> ui.onPDFAComplianceCheckFailed(job));
@@ -80,7 +81,7 @@ public class Autogram {
     }
 
     public void startVisualization(SigningJob job) {
-        ui.onWorkThreadDo(() -> {
+        ui.onWorkThreadDo(ExecutorRegistry.Lane.VISUALIZATION, job, () -> {
             if (PDFUtils.isPdfAndPasswordProtected(job.getDocument())) {
                 ui.onUIThreadDo(() -> {
                     ui.showError(new AutogramException("Nastala chyba", "Dokument je chránený heslom", "Snažíte sa podpísať dokument chránený heslom, čo je funkcionalita, ktorá nie je podporovaná.\n\nOdstráňte ochranu heslom a potom budete môcť dokument podpísať."));
@@ -106,21 +107,35 @@ public class Autogram {
         });
     }
 
+    /**
+     * Only the token signature runs on the signing lane, so the token is not held while the document is prepared and
+     * assembled, the same way as in batches
+     */
     public void sign(SigningJob job, SigningKey signingKey) {
-        ui.onWorkThreadDo(() -> {
-            try {
-                job.signWithKeyAndRespond(signingKey);
-                ui.onUIThreadDo(() -> ui.onSigningSuccess(job));
-            } catch (DSSException e) {
-                onSigningFailed(AutogramException.createFromDSSException(e));
-            } catch (IllegalArgumentException e) {
-                onSigningFailed(AutogramException.createFromIllegalArgumentException(e));
-            } catch (ResponseNetworkErrorException e) {
-                onSigningFailed(e, job);
-            } catch (Exception e) {
-                onSigningFailed(new UnrecognizedException(e));
-            }
-        });
+        ui.onWorkThreadDo(ExecutorRegistry.Lane.WORK, () -> runSigningStage(() -> {
+            var preparedSignature = job.prepareSignature(signingKey, signatureServices);
+            ui.onWorkThreadDo(ExecutorRegistry.Lane.SIGNING, () -> runSigningStage(() -> {
+                preparedSignature.sign();
+                ui.onWorkThreadDo(ExecutorRegistry.Lane.WORK, () -> runSigningStage(() -> {
+                    job.assembleAndRespond(preparedSignature);
+                    ui.onUIThreadDo(() -> ui.onSigningSuccess(job));
+                }, job));
+            }, job));
+        }, job));
+    }
+
+    private void runSigningStage(Runnable stage, SigningJob job) {
+        try {
+            stage.run();
+        } catch (DSSException e) {
+            onSigningFailed(AutogramException.createFromDSSException(e));
+        } catch (IllegalArgumentException e) {
+            onSigningFailed(AutogramException.createFromIllegalArgumentException(e));
+        } catch (ResponseNetworkErrorException e) {
+            onSigningFailed(e, job);
+        } catch (Exception e) {
+            onSigningFailed(new UnrecognizedException(e));
+        }
     }
 
     /**
@@ -130,9 +145,7 @@ public class Autogram {
      * @param responder              - callback for http response
      */
     public void batchStart(int totalNumberOfDocuments, BatchResponder responder) {
-        if (batch != null && !batch.isEnded())
-            throw new BatchConflictException("Iné hromadné podpisovanie už prebieha");
-        batch = new Batch(totalNumberOfDocuments);
+        var batch = batches.create(totalNumberOfDocuments);
 
         var startBatchTask = new AutogramBatchStartCallback(batch, responder);
 
@@ -148,12 +161,11 @@ public class Autogram {
      * @param batchId - current batch ID, used to authenticate the request
      */
     public void batchSign(SigningJob job, String batchId) {
-        if (batch == null) throw new BatchNotStartedException(); // TODO replace with checked exception
-
+        var batch = batches.get(batchId);
         batch.addJob(batchId);
 
         ui.onWorkThreadDo(() -> {
-            ui.signBatch(job, batch.getSigningKey());
+            ui.signBatch(job, batch.getSigningKey(), signingPipeline);
         });
     }
 
@@ -163,6 +175,7 @@ public class Autogram {
      * @param batchId - current batch ID, used to authenticate the request
      */
     public boolean batchEnd(String batchId) {
+        var batch = batches.get(batchId);
         batch.validate(batchId);
         batch.end();
         ui.onUIThreadDo(() -> {
@@ -172,11 +185,18 @@ public class Autogram {
     }
 
     public Batch getBatch(String batchId) {
-        if (batch == null) throw new BatchNotStartedException(); // TODO replace with checked exception
+        var batch = batches.get(batchId);
         batch.validate(batchId);
         return batch;
     }
 
+    /**
+     * Batch in any state, for reporting its progress
+     */
+    public Batch findBatch(String batchId) {
+        return batches.get(batchId);
+    }
+
     public void pickSigningKeyAndThen(Consumer<SigningKey> callback) {
         var drivers = driverDetector.getAvailableDrivers();
         ui.pickTokenDriverAndThen(drivers,
@@ -229,11 +249,12 @@ public class Autogram {
     }
 
     public void initializeSignatureValidator(ScheduledExecutorService scheduledExecutorService, ExecutorService cachedExecutorService, List<String> tlCountries) {
+        cachedExecutorService.execute(XDCValidator::getXdcSchema);
         ui.onWorkThreadDo(() -> {
             SignatureValidator.getInstance().initialize(cachedExecutorService, tlCountries);
         });
 
         scheduledExecutorService.scheduleAtFixedRate(() -> SignatureValidator.getInstance().refresh(),
-            480, 480, java.util.concurrent.TimeUnit.MINUTES);
+            60, 60, java.util.concurrent.TimeUnit.MINUTES);
     }
 }
@@ -1,7 +1,11 @@
 package digital.slovensko.autogram.core;
 
-import java.util.Date;
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import digital.slovensko.autogram.core.errors.BatchEndedException;
 import digital.slovensko.autogram.core.errors.BatchExpiredException;
@@ -9,25 +13,30 @@ import digital.slovensko.autogram.core.errors.BatchInvalidIdException;
 import digital.slovensko.autogram.util.Logging;
 
 enum BatchState {
-    INITIALIZED, STARTED, ENDED
+    INITIALIZED, STARTED, ENDED, EXPIRED
 }
 
 /**
  * Batch is a session for signing multiple documents with the same key.
  * 
- * This class is used for checking runtime conditions and tracking progress.
+ * This class is used for checking runtime conditions and tracking progress. Documents are added from HTTP threads and
+ * finished on work threads, so the counters are lock-free and listeners are told about every change.
  */
 public class Batch {
     private final String batchId = generateNewBatchId();
     private final int totalNumberOfDocuments;
 
-    private BatchState state = BatchState.INITIALIZED;
-    private SigningKey signingKey = null;
+    static final long TIME_TO_LIVE = 1000 * 60 * 10; // 10 minutes
 
-    private Date expriationDate = new Date(System.currentTimeMillis() + 1000 * 60 * 10);
-    private int addedDocumentsCount = 0;
-    private int successfulDocumentsCount = 0;
-    private int failedDocumentsCount = 0;
+    private volatile BatchState state = BatchState.INITIALIZED;
+    private volatile SigningKey signingKey = null;
+
+    private volatile long expiresAt;
+    private volatile long startedAt;
+    private final AtomicInteger addedDocumentsCount = new AtomicInteger();
+    private final LongAdder successfulDocumentsCount = new LongAdder();
+    private final LongAdder failedDocumentsCount = new LongAdder();
+    private final List<Runnable> progressListeners = new CopyOnWriteArrayList<>();
 
     public Batch(int totalNumberOfDocuments) {
         this.totalNumberOfDocuments = totalNumberOfDocuments;
@@ -39,31 +48,60 @@ public class Batch {
             throw new BatchEndedException("Nie je možné opätovne spustiť hromadné podpisovanie");
         state = BatchState.STARTED;
         signingKey = key;
+        startedAt = System.nanoTime();
+        notifyProgressListeners();
     }
 
     public void addJob(String batchId) {
         validate(batchId);
 
-        if (this.totalNumberOfDocuments <= this.addedDocumentsCount)
+        var added = addedDocumentsCount.getAndUpdate(count -> count < totalNumberOfDocuments ? count + 1 : count);
+        if (added >= totalNumberOfDocuments)
             throw new IllegalAccessError("Sent more sign requests than declared at start");
-
-        addedDocumentsCount++;
     }
 
     public void onJobSuccess() {
-        successfulDocumentsCount++;
+        successfulDocumentsCount.increment();
         Logging.log("Batch " + batchId + " success");
         log();
+        notifyProgressListeners();
     }
 
     public void onJobFailure() {
-        failedDocumentsCount++;
+        failedDocumentsCount.increment();
         Logging.log("Batch " + batchId + " failed");
         log();
+        notifyProgressListeners();
     }
 
     public void end() {
-        state = BatchState.ENDED;
+        if (state != BatchState.EXPIRED)
+            state = BatchState.ENDED;
+        notifyProgressListeners();
+    }
+
+    /**
+     * Listener is called on the thread which changed the progress, it should only hand the change over
+     */
+    public void addProgressListener(Runnable listener) {
+        progressListeners.add(listener);
+    }
+
+    public void removeProgressListener(Runnable listener) {
+        progressListeners.remove(listener);
+    }
+
+    private void notifyProgressListeners() {
+        progressListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Called by the batch registry once the batch outlives its expiration
+     */
+    void expire() {
+        if (state != BatchState.ENDED)
+            state = BatchState.EXPIRED;
+        notifyProgressListeners();
     }
 
     private void validateInternal() {
@@ -73,9 +111,8 @@ public class Batch {
         if (state == BatchState.ENDED)
             throw new BatchEndedException("Hromadné podpisovanie bolo ukončené");
 
-        if (isExpired()) {
+        if (state == BatchState.EXPIRED)
             throw new BatchExpiredException();
-        }
     }
 
     public void validate(String batchId) {
@@ -92,8 +129,12 @@ public class Batch {
         return batchId;
     }
 
+    public boolean isStarted() {
+        return state != BatchState.INITIALIZED;
+    }
+
     public boolean isEnded() {
-        return state == BatchState.ENDED;
+        return state == BatchState.ENDED || state == BatchState.EXPIRED;
     }
 
     public boolean isAllProcessed() {
@@ -109,28 +150,51 @@ public class Batch {
     }
 
     public int getProcessedDocumentsCount(){
-        return successfulDocumentsCount + failedDocumentsCount;
+        return getSuccessfulDocumentsCount() + getFailedDocumentsCount();
+    }
+
+    public int getSuccessfulDocumentsCount() {
+        return successfulDocumentsCount.intValue();
+    }
+
+    public int getFailedDocumentsCount() {
+        return failedDocumentsCount.intValue();
+    }
+
+    /**
+     * Time since the batch was started, zero if it was not started yet
+     */
+    public Duration getElapsedTime() {
+        return startedAt == 0 ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - startedAt);
     }
 
     public SigningKey getSigningKey() {
         return signingKey;
     }
 
+    public String getId() {
+        return batchId;
+    }
+
+    long getExpiresAt() {
+        return expiresAt;
+    }
+
+    boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
     // private
     private static String generateNewBatchId() {
         return UUID.randomUUID().toString();
     }
 
-    private boolean isExpired() {
-        return expriationDate.before(new Date());
-    }
-
     public void resetExpirationDate() {
-        expriationDate = new Date(System.currentTimeMillis() + 1000 * 60 * 10); // 1 minute
+        expiresAt = System.currentTimeMillis() + TIME_TO_LIVE;
     }
 
     public void log() {
-        Logging.log("Batch " + batchId + " state: " + state + " processed: " + addedDocumentsCount + " total: " + totalNumberOfDocuments);
+        Logging.log("Batch " + batchId + " state: " + state + " processed: " + getProcessedDocumentsCount() + " added: " + addedDocumentsCount.get() + " total: " + totalNumberOfDocuments);
     }
 
 }
@@ -0,0 +1,84 @@
+package digital.slovensko.autogram.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import digital.slovensko.autogram.core.errors.BatchConflictException;
+import digital.slovensko.autogram.core.errors.BatchInvalidIdException;
+import digital.slovensko.autogram.util.Logging;
+
+/**
+ * Batches running side by side, looked up by their ID. A sweeper expires batches which outlive their time to live,
+ * expired and ended batches are kept for another time to live, so that late requests are told what happened to them.
+ */
+public class BatchRegistry {
+    public static final int DEFAULT_MAX_BATCHES = 4;
+    private static final long SWEEP_INTERVAL_SECONDS = 10;
+
+    private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+    private final int maxBatches;
+    private final Consumer<Batch> onExpired;
+    private ScheduledExecutorService sweeper;
+
+    /**
+     * @param maxBatches - maximum number of batches which are not ended
+     * @param onExpired  - called on the sweeper thread for each batch which expired while running
+     */
+    public BatchRegistry(int maxBatches, Consumer<Batch> onExpired) {
+        this.maxBatches = maxBatches;
+        this.onExpired = onExpired;
+    }
+
+    public synchronized Batch create(int totalNumberOfDocuments) {
+        var running = batches.values().stream().filter(batch -> !batch.isEnded()).count();
+        if (running >= maxBatches)
+            throw new BatchConflictException("Naraz je možné vykonávať najviac " + maxBatches + " hromadných podpisovaní");
+
+        var batch = new Batch(totalNumberOfDocuments);
+        batches.put(batch.getId(), batch);
+        startSweeper();
+
+        return batch;
+    }
+
+    public Batch get(String batchId) {
+        var batch = batchId == null ? null : batches.get(batchId);
+        if (batch == null)
+            throw new BatchInvalidIdException();
+
+        return batch;
+    }
+
+    public int size() {
+        return batches.size();
+    }
+
+    void sweep(long now) {
+        for (var batch : batches.values()) {
+            if (!batch.isExpired(now))
+                continue;
+
+            if (!batch.isEnded()) {
+                batch.expire();
+                Logging.log("Batch " + batch.getId() + " expired");
+                onExpired.accept(batch);
+            }
+
+            if (now >= batch.getExpiresAt() + Batch.TIME_TO_LIVE)
+                batches.remove(batch.getId());
+        }
+    }
+
+    private void startSweeper() {
+        if (sweeper != null)
+            return;
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(ExecutorRegistry.newThreadFactory("autogram-batch-sweeper"));
+        sweeper.scheduleWithFixedDelay(() -> sweep(System.currentTimeMillis()), SWEEP_INTERVAL_SECONDS,
+                SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+}
@@ -1,6 +1,7 @@
 package digital.slovensko.autogram.core;
 
 import digital.slovensko.autogram.core.errors.PDFSignatureLevelIsNotValidException;
+import digital.slovensko.autogram.core.errors.ParallelismIsNotValidException;
 import digital.slovensko.autogram.core.errors.SlotIdIsNotANumberException;
 import digital.slovensko.autogram.core.errors.SourceDoesNotExistException;
 import digital.slovensko.autogram.core.errors.TokenDriverDoesNotExistException;
@@ -22,9 +23,10 @@ public class CliParameters {
     private final boolean makeParentDirectories;
     private final SignatureLevel pdfSignatureLevel;
     private final boolean en319132;
+    private final int parallelism;
 
     public CliParameters(CommandLine cmd) throws SourceDoesNotExistException, TokenDriverDoesNotExistException,
-            SlotIdIsNotANumberException, PDFSignatureLevelIsNotValidException {
+            SlotIdIsNotANumberException, PDFSignatureLevelIsNotValidException, ParallelismIsNotValidException {
         source = getValidSource(cmd.getOptionValue("s"));
         target = cmd.getOptionValue("t");
         driver = getValidTokenDriver(cmd.getOptionValue("d"));
@@ -35,6 +37,7 @@ public class CliParameters {
         pdfSignatureLevel = getValidSignatureLevel(
                 cmd.getOptionValue("pdf-level", SignatureLevel.PAdES_BASELINE_B.name()));
         en319132 = cmd.hasOption("en319132");
+        parallelism = getValidParallelism(cmd.getOptionValue("parallelism"));
     }
 
     private SignatureLevel getValidSignatureLevel(String optionValue) throws PDFSignatureLevelIsNotValidException {
@@ -56,6 +59,21 @@ public class CliParameters {
         }
     }
 
+    private int getValidParallelism(String optionValue) throws ParallelismIsNotValidException {
+        if (optionValue == null)
+            return 1;
+
+        try {
+            var parallelism = Integer.parseInt(optionValue);
+            if (parallelism < 1)
+                throw new ParallelismIsNotValidException(optionValue);
+
+            return parallelism;
+        } catch (NumberFormatException e) {
+            throw new ParallelismIsNotValidException(optionValue);
+        }
+    }
+
     public File getSource() {
         return source;
     }
@@ -118,4 +136,8 @@ public class CliParameters {
     public SignatureLevel pdfSignatureLevel() {
         return pdfSignatureLevel;
     }
+
+    public int getParallelism() {
+        return parallelism;
+    }
 }
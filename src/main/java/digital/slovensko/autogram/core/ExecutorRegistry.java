@@ -0,0 +1,116 @@
+package digital.slovensko.autogram.core;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Separate pools for each kind of work, so that a flood of one kind, like visualizations of a large batch, never
+ * delays another, like the token or trusted list refresh. Every pool is instrumented and has a bounded queue, tasks
+ * over the bound are rejected.
+ */
+public class ExecutorRegistry {
+    static final int QUEUE_CAPACITY = 1024;
+
+    private final Map<Lane, InstrumentedExecutorService> executors = new EnumMap<>(Lane.class);
+
+    public enum Lane {
+        /** HTTP exchanges, replaced by the executor chosen by launch parameters, a thread per exchange by default */
+        HTTP("autogram-http", 0),
+        /** Signature validation of documents in signing dialogs and of the /validate endpoint */
+        VALIDATION("autogram-validation", Cpus.COUNT),
+        /** Rendering of documents for signing dialogs */
+        VISUALIZATION("autogram-visualization", Math.max(2, Cpus.COUNT / 2)),
+        /** Work with the token, one operation at a time */
+        SIGNING("autogram-signing", 1),
+        /** Downloads and validation of trusted lists */
+        TRUSTED_LISTS("autogram-tl", 8),
+        /** Everything else started from the UI */
+        WORK("autogram-work", Math.max(4, Cpus.COUNT));
+
+        private final String threadName;
+        private final int threads;
+
+        Lane(String threadName, int threads) {
+            this.threadName = threadName;
+            this.threads = threads;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+    }
+
+    /**
+     * Kept out of the registry, so that the lanes can be initialized without initializing the registry, which needs
+     * the lanes itself
+     */
+    private static class Cpus {
+        private static final int COUNT = Runtime.getRuntime().availableProcessors();
+    }
+
+    private static class InstanceHolder {
+        private static final ExecutorRegistry instance = new ExecutorRegistry();
+    }
+
+    private ExecutorRegistry() {
+    }
+
+    public static ExecutorRegistry getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    public synchronized InstrumentedExecutorService getExecutor(Lane lane) {
+        var executor = executors.get(lane);
+        if (executor == null || executor.isShutdown()) {
+            executor = new InstrumentedExecutorService(lane.getThreadName(), newExecutor(lane));
+            executors.put(lane, executor);
+        }
+
+        return executor;
+    }
+
+    /**
+     * Replaces the default pool of the lane, the previous one finishes its tasks
+     */
+    public synchronized InstrumentedExecutorService register(Lane lane, ExecutorService executor) {
+        var previous = executors.put(lane, new InstrumentedExecutorService(lane.getThreadName(), executor));
+        if (previous != null)
+            previous.shutdown();
+
+        return executors.get(lane);
+    }
+
+    public synchronized Map<Lane, InstrumentedExecutorService.Stats> getStats() {
+        var stats = new EnumMap<Lane, InstrumentedExecutorService.Stats>(Lane.class);
+        executors.forEach((lane, executor) -> stats.put(lane, executor.getStats()));
+        return stats;
+    }
+
+    public synchronized void shutdown() {
+        executors.values().forEach(ExecutorService::shutdown);
+    }
+
+    private static ExecutorService newExecutor(Lane lane) {
+        if (lane.threads == 0)
+            return Executors.newCachedThreadPool(newThreadFactory(lane.getThreadName()));
+
+        return new ThreadPoolExecutor(lane.threads, lane.threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), newThreadFactory(lane.getThreadName()));
+    }
+
+    public static ThreadFactory newThreadFactory(String name) {
+        var threads = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, name + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
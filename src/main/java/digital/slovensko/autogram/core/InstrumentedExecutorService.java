@@ -0,0 +1,100 @@
+package digital.slovensko.autogram.core;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts tasks waiting for and running on the wrapped executor and measures how long they wait and run. Works with any
+ * executor, also with ones which have no queue to look into, like a virtual thread per task executor.
+ */
+public class InstrumentedExecutorService extends AbstractExecutorService {
+    private final String name;
+    private final ExecutorService executor;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public record Stats(String name, int queued, int active, long completed, Duration averageWait,
+                        Duration maxWait, Duration averageRun) {
+    }
+
+    public InstrumentedExecutorService(String name, ExecutorService executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        var submittedAt = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            executor.execute(() -> run(command, submittedAt));
+        } catch (RuntimeException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void run(Runnable command, long submittedAt) {
+        var startedAt = System.nanoTime();
+        queued.decrementAndGet();
+        active.incrementAndGet();
+        waitNanos.add(startedAt - submittedAt);
+        maxWaitNanos.accumulate(startedAt - submittedAt);
+        try {
+            command.run();
+        } finally {
+            active.decrementAndGet();
+            runNanos.add(System.nanoTime() - startedAt);
+            completed.increment();
+        }
+    }
+
+    public Stats getStats() {
+        var count = completed.sum();
+        return new Stats(name, queued.get(), active.get(), count,
+                Duration.ofNanos(count == 0 ? 0 : waitNanos.sum() / count),
+                Duration.ofNanos(maxWaitNanos.get()),
+                Duration.ofNanos(count == 0 ? 0 : runNanos.sum() / count));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        var dropped = executor.shutdownNow();
+        queued.addAndGet(-dropped.size());
+        return dropped;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return executor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+}
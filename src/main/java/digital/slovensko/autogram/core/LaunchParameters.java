@@ -25,6 +25,8 @@ public class LaunchParameters {
     private int initialNonce;
     private String language;
     private boolean standaloneMode;
+    private String serverExecutor;
+    private int maxBatches;
 
     private LaunchParameters(Map<String, String> params, boolean standaloneMode) {
         this.parameters = params;
@@ -36,6 +38,8 @@ public class LaunchParameters {
         var port = ofNullable(params.get("port")).orElse(getProperty("server.defaultPort"));
         var origin = ofNullable(params.get("origin")).orElse(getProperty("server.defaultOrigin"));
         var language = ofNullable(params.get("language")).orElse(Locale.getDefault().getLanguage());
+        var serverExecutor = ofNullable(params.get("serverExecutor")).orElse(getProperty("server.defaultExecutor"));
+        var maxBatches = ofNullable(params.get("maxBatches")).orElse(getProperty("server.defaultMaxBatches"));
         var key = params.get("key");
         var nonce = params.get("nonce");
 
@@ -45,6 +49,8 @@ public class LaunchParameters {
         this.port = validatePort(port);
         this.origin = validateOrigin(origin);
         this.language = validateLanguage(language);
+        this.serverExecutor = validateServerExecutor(serverExecutor);
+        this.maxBatches = validateMaxBatches(maxBatches);
 
         if ((key != null) && !key.isBlank())
             this.secretKey = validateSecretKey(key);
@@ -119,6 +125,20 @@ public class LaunchParameters {
         return language;
     }
 
+    /**
+     * Kind of executor running HTTP exchanges, virtual, cached or number of threads
+     */
+    public String getServerExecutor() {
+        return serverExecutor;
+    }
+
+    /**
+     * Maximum number of batches signed at the same time
+     */
+    public int getMaxBatches() {
+        return maxBatches;
+    }
+
     public static class Validations {
         private static final int MAX_PORT_NUMBER = 65535;
         private static final String VALID_ORIGIN_REGEX = "^\\*|((https?:\\/\\/)([^\\s.:/\\\\]+[\\.])*([^\\s.:/\\\\]+)(:\\d+)?)$";
@@ -177,6 +197,25 @@ public class LaunchParameters {
                 throw new IllegalArgumentException("Language " + language + " is not valid.");
         }
 
+        public static String validateServerExecutor(String executor) {
+            if (executor.equalsIgnoreCase("virtual") || executor.equalsIgnoreCase("cached"))
+                return executor.toLowerCase(Locale.ROOT);
+
+            if (validInteger(executor) >= 1)
+                return executor;
+
+            throw new IllegalArgumentException("Server executor " + executor + " is not valid.");
+        }
+
+        public static int validateMaxBatches(String input) {
+            int maxBatches = validInteger(input);
+
+            if (maxBatches >= 1)
+                return maxBatches;
+            else
+                throw new IllegalArgumentException("Maximum number of batches " + input + " must be at least 1");
+        }
+
         private static int validInteger(String input) {
             try {
                 return Integer.parseInt(input);
@@ -0,0 +1,52 @@
+package digital.slovensko.autogram.core;
+
+import eu.europa.esig.dss.AbstractSignatureParameters;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.signature.DocumentSignatureService;
+
+/**
+ * Document prepared for signing - data to be signed are already computed, only the token signature
+ * and assembling of the signed document are left. Stages are split so they can run on different threads.
+ */
+public class PreparedSignature<P extends AbstractSignatureParameters<?>> {
+    private final DocumentSignatureService<P, ?> service;
+    private final DSSDocument document;
+    private final P parameters;
+    private final SigningKey key;
+    private final DigestAlgorithm digestAlgorithm;
+    private final ToBeSigned dataToSign;
+    private volatile SignatureValue signatureValue;
+
+    PreparedSignature(DocumentSignatureService<P, ?> service, DSSDocument document, P parameters, SigningKey key,
+            DigestAlgorithm digestAlgorithm, ToBeSigned dataToSign) {
+        this.service = service;
+        this.document = document;
+        this.parameters = parameters;
+        this.key = key;
+        this.digestAlgorithm = digestAlgorithm;
+        this.dataToSign = dataToSign;
+    }
+
+    public PreparedSignature<P> sign() {
+        signatureValue = key.sign(dataToSign, digestAlgorithm);
+        return this;
+    }
+
+    public boolean isSigned() {
+        return signatureValue != null;
+    }
+
+    public SigningKey getKey() {
+        return key;
+    }
+
+    DSSDocument assemble() {
+        if (signatureValue == null)
+            throw new IllegalStateException("Document was not signed with token yet");
+
+        return service.signDocument(document, parameters, signatureValue);
+    }
+}
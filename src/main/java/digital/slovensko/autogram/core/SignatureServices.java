@@ -0,0 +1,54 @@
+package digital.slovensko.autogram.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import eu.europa.esig.dss.asic.cades.signature.ASiCWithCAdESService;
+import eu.europa.esig.dss.asic.xades.signature.ASiCWithXAdESService;
+import eu.europa.esig.dss.cades.signature.CAdESService;
+import eu.europa.esig.dss.enumerations.SignatureForm;
+import eu.europa.esig.dss.pades.signature.PAdESService;
+import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.xades.signature.XAdESService;
+
+/**
+ * Signature services keyed by signature type and container, each created once and shared by all jobs.
+ * DSS services hold only configuration, so they are safe to use from multiple threads.
+ */
+public class SignatureServices {
+    private record ServiceKey(SignatureForm signatureType, boolean isContainer) {}
+
+    private final CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+    private final Map<ServiceKey, Object> services = new ConcurrentHashMap<>();
+
+    public XAdESService getXAdESService() {
+        return get(SignatureForm.XAdES, false, XAdESService::new);
+    }
+
+    public ASiCWithXAdESService getASiCWithXAdESService() {
+        return get(SignatureForm.XAdES, true, ASiCWithXAdESService::new);
+    }
+
+    public CAdESService getCAdESService() {
+        return get(SignatureForm.CAdES, false, CAdESService::new);
+    }
+
+    public ASiCWithCAdESService getASiCWithCAdESService() {
+        return get(SignatureForm.CAdES, true, ASiCWithCAdESService::new);
+    }
+
+    public PAdESService getPAdESService() {
+        return get(SignatureForm.PAdES, false, PAdESService::new);
+    }
+
+    public CertificateVerifier getCertificateVerifier() {
+        return certificateVerifier;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S> S get(SignatureForm signatureType, boolean isContainer, Function<CertificateVerifier, S> factory) {
+        return (S) services.computeIfAbsent(new ServiceKey(signatureType, isContainer), k -> factory.apply(certificateVerifier));
+    }
+}
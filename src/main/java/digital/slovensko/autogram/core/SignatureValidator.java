@@ -4,12 +4,22 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
@@ -20,14 +30,21 @@ import org.slf4j.LoggerFactory;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
+import digital.slovensko.autogram.core.revocation.CachedCRLSource;
+import digital.slovensko.autogram.core.revocation.CachedOCSPSource;
+import digital.slovensko.autogram.util.SignatureFormatDetector;
 import digital.slovensko.autogram.util.XMLUtils;
 import eu.europa.esig.dss.enumerations.SignatureLevel;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.service.crl.OnlineCRLSource;
 import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
 import eu.europa.esig.dss.service.http.commons.FileCacheDataLoader;
 import eu.europa.esig.dss.service.ocsp.OnlineOCSPSource;
+import eu.europa.esig.dss.spi.tsl.TLInfo;
+import eu.europa.esig.dss.spi.tsl.TLValidationJobSummary;
+import eu.europa.esig.dss.spi.tsl.TrustProperties;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
 import eu.europa.esig.dss.spi.x509.KeyStoreCertificateSource;
@@ -46,73 +63,266 @@ import static digital.slovensko.autogram.util.DSSUtils.*;
 public class SignatureValidator {
     private static final String LOTL_URL = "https://ec.europa.eu/tools/lotl/eu-lotl.xml";
     private static final String OJ_URL = "https://eur-lex.europa.eu/legal-content/EN/TXT/?uri=uriserv:OJ.C_.2019.276.01.0001.01.ENG";
-    private CertificateVerifier verifier;
-    private TLValidationJob validationJob;
+    private static final Path REVOCATION_CACHE_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "autogram-revocation-cache");
+    private static final Duration REVOCATION_MAX_STALENESS = Duration.parse(
+            Configuration.getProperty("validation.revocationMaxStaleness"));
+    private static final Duration TL_STORED_MAX_AGE = Duration.ofDays(7);
+    // full DSS reports of a document with many signatures take megabytes, only a few recent ones are kept
+    private static final int REPORTS_MAX_ENTRIES = 16;
+    private static final Duration REPORTS_MAX_AGE = Duration.ofHours(1);
+    private static final Path TL_CACHE_DIRECTORY = Path.of(System.getProperty("user.home"), ".autogram", "trusted-lists");
+    private static final Duration TL_MAX_AGE = Duration.ofMinutes(30);
     private static Logger logger = LoggerFactory.getLogger(SignatureValidator.class);
 
     // Singleton
-    private static SignatureValidator instance;
+    private static final SignatureValidator instance = new SignatureValidator();
+
+    // Validations only read the published snapshot, refresh builds a new one and swaps it in
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(
+            new Snapshot(new CommonCertificateVerifier(), false, 0));
+    private final Object refreshLock = new Object();
+    private final CachedCRLSource crlSource = new CachedCRLSource(new OnlineCRLSource(), 256, REVOCATION_CACHE_DIRECTORY, REVOCATION_MAX_STALENESS);
+    private final CachedOCSPSource ocspSource = new CachedOCSPSource(new OnlineOCSPSource(), 1024, REVOCATION_CACHE_DIRECTORY, REVOCATION_MAX_STALENESS);
+    private final ValidationReportsCache reportsCache = new ValidationReportsCache(REPORTS_MAX_ENTRIES, REPORTS_MAX_AGE);
+    private final TrustedListLoader tlLoader;
+    private TLValidationJob validationJob;
+    private TrustedListsCertificateSource trustedListCertificateSource;
+    private String tlFingerprint;
+    private volatile Duration startupDuration;
+    private volatile Map<String, TrustedListLoader.Download> tlRefreshes = Map.of();
+
+    private record Snapshot(CertificateVerifier verifier, boolean areTLsLoaded, long tlVersion) {
+    }
 
     private SignatureValidator() {
+        this(new TrustedListLoader(TL_CACHE_DIRECTORY, TL_MAX_AGE));
     }
 
-    public synchronized static SignatureValidator getInstance() {
-        if (instance == null)
-            instance = new SignatureValidator();
+    SignatureValidator(TrustedListLoader tlLoader) {
+        this.tlLoader = tlLoader;
+    }
 
+    public static SignatureValidator getInstance() {
         return instance;
     }
 
-    public synchronized Reports validate(SignedDocumentValidator docValidator) {
-        docValidator.setCertificateVerifier(verifier);
+    public Reports validate(SignedDocumentValidator docValidator) {
+        docValidator.setCertificateVerifier(snapshot.get().verifier());
 
         // TODO: do not print stack trace inside DSS
         return docValidator.validateDocument();
     }
 
-    public synchronized void refresh() {
-        validationJob.offlineRefresh();
+    /**
+     * Validates a document outside of a signing job, returns null for documents which cannot contain signatures
+     */
+    public Reports validate(DSSDocument document) {
+        var docValidator = createDocumentValidator(document);
+        if (docValidator == null)
+            return null;
+
+        return validate(document, docValidator);
+    }
+
+    /**
+     * Documents validated against the same version of trusted lists recently are not validated again
+     */
+    public Reports validate(DSSDocument document, SignedDocumentValidator docValidator) {
+        var current = snapshot.get();
+        return reportsCache.get(document, current.tlVersion(), () -> {
+            docValidator.setCertificateVerifier(current.verifier());
+            return docValidator.validateDocument();
+        });
+    }
+
+    public void refresh() {
+        synchronized (refreshLock) {
+            if (validationJob == null)
+                return;
+
+            var updates = tlLoader.getUpdates();
+            validationJob.offlineRefresh();
+            recordRefreshes();
+
+            if (tlLoader.getUpdates() == updates && snapshot.get().areTLsLoaded()) {
+                logger.debug("Trusted lists did not change");
+                return;
+            }
+
+            publishRefreshedSnapshot();
+        }
+    }
+
+    public void initialize(ExecutorService executorService, List<String> tlCountries) {
+        var startedAt = System.nanoTime();
+        synchronized (refreshLock) {
+            SimpleDateFormat formatter = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+            logger.debug("Initializing signature validator at {}", formatter.format(new Date()));
+
+            validationJob = new TLValidationJob();
+
+            var lotlSource = new LOTLSource();
+            lotlSource.setCertificateSource(getJournalCertificateSource());
+            lotlSource.setSigningCertificatesAnnouncementPredicate(new OfficialJournalSchemeInformationURI(OJ_URL));
+            lotlSource.setUrl(LOTL_URL);
+            lotlSource.setPivotSupport(true);
+            lotlSource.setTlPredicate(TLPredicateFactory.createEUTLCountryCodePredicate(tlCountries.toArray(new String[0])));
+
+            var onlineFileLoader = new FileCacheDataLoader();
+            onlineFileLoader.setCacheExpirationTime(0);
+            onlineFileLoader.setDataLoader(new CommonsDataLoader());
+            validationJob.setOnlineDataLoader(onlineFileLoader);
+
+            trustedListCertificateSource = new TrustedListsCertificateSource();
+            validationJob.setTrustedListCertificateSource(trustedListCertificateSource);
+            validationJob.setListOfTrustedListSources(lotlSource);
+            validationJob.setSynchronizationStrategy(new ExpirationAndSignatureCheckStrategy());
+            validationJob.setExecutorService(executorService);
+            validationJob.setDebug(false);
+
+            // signed files stored by the last run are validated again without network, so validation can start at once
+            validationJob.setOfflineDataLoader(tlLoader.getStoredFileLoader(TL_STORED_MAX_AGE));
+            validationJob.offlineRefresh();
+            if (publishRefreshedSnapshot()) {
+                markStarted(startedAt);
+                logger.debug("Loaded stored trusted lists");
+            }
+
+            logger.debug("Starting signature validator offline refresh");
+            validationJob.setOfflineDataLoader(tlLoader);
+            validationJob.offlineRefresh();
+            recordRefreshes();
+            if (publishRefreshedSnapshot())
+                markStarted(startedAt);
+
+            logger.debug("Signature validator initialized at {}", formatter.format(new Date()));
+        }
     }
 
-    public synchronized void initialize(ExecutorService executorService, List<String> tlCountries) {
-        SimpleDateFormat formatter = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
-        logger.debug("Initializing signature validator at {}", formatter.format(new Date()));
+    /**
+     * DSS updates the trusted list certificate source in place, so the snapshot gets its own copy which is never
+     * modified after it is published. A refresh which loaded no trusted lists, like one without network, never
+     * replaces trusted lists published before.
+     */
+    private boolean publishRefreshedSnapshot() {
+        var trustProperties = new HashMap<CertificateToken, List<TrustProperties>>();
+        for (var certificate : trustedListCertificateSource.getCertificates())
+            trustProperties.put(certificate, new ArrayList<>(trustedListCertificateSource.getTrustServices(certificate)));
 
-        validationJob = new TLValidationJob();
+        var trustedCertificates = new TrustedListsCertificateSource();
+        trustedCertificates.setTrustPropertiesByCertificates(trustProperties);
+        trustedCertificates.setSummary(trustedListCertificateSource.getSummary());
 
-        var lotlSource = new LOTLSource();
-        lotlSource.setCertificateSource(getJournalCertificateSource());
-        lotlSource.setSigningCertificatesAnnouncementPredicate(new OfficialJournalSchemeInformationURI(OJ_URL));
-        lotlSource.setUrl(LOTL_URL);
-        lotlSource.setPivotSupport(true);
-        lotlSource.setTlPredicate(TLPredicateFactory.createEUTLCountryCodePredicate(tlCountries.toArray(new String[0])));
+        // TODO: consider validation turned off as well
+        var summary = validationJob.getSummary();
+        var areTLsLoaded = summary.getNumberOfProcessedTLs() > 0 && !trustProperties.isEmpty();
+        if (!areTLsLoaded) {
+            logger.debug("No trusted lists loaded, keeping the published ones");
+            if (!snapshot.get().areTLsLoaded())
+                publishSnapshot(trustedCertificates, false, getTLFingerprint(summary));
+
+            return false;
+        }
 
-        var offlineFileLoader = new FileCacheDataLoader();
-        offlineFileLoader.setCacheExpirationTime(21600000);
-        offlineFileLoader.setDataLoader(new CommonsDataLoader());
-        validationJob.setOfflineDataLoader(offlineFileLoader);
+        publishSnapshot(trustedCertificates, true, getTLFingerprint(summary));
+        return true;
+    }
 
-        var onlineFileLoader = new FileCacheDataLoader();
-        onlineFileLoader.setCacheExpirationTime(0);
-        onlineFileLoader.setDataLoader(new CommonsDataLoader());
-        validationJob.setOnlineDataLoader(onlineFileLoader);
+    /**
+     * Version of trusted lists changes only when their content changes, cached validation reports are kept otherwise
+     */
+    void publishSnapshot(TrustedListsCertificateSource trustedCertificates, boolean areTLsLoaded,
+            String fingerprint) {
+        var verifier = new CommonCertificateVerifier();
+        verifier.setTrustedCertSources(trustedCertificates);
+        verifier.setCrlSource(crlSource);
+        verifier.setOcspSource(ocspSource);
+
+        var tlVersion = snapshot.get().tlVersion();
+        if (!fingerprint.equals(tlFingerprint)) {
+            tlFingerprint = fingerprint;
+            tlVersion++;
+            reportsCache.clear();
+        }
 
-        var trustedListCertificateSource = new TrustedListsCertificateSource();
-        validationJob.setTrustedListCertificateSource(trustedListCertificateSource);
-        validationJob.setListOfTrustedListSources(lotlSource);
-        validationJob.setSynchronizationStrategy(new ExpirationAndSignatureCheckStrategy());
-        validationJob.setExecutorService(executorService);
-        validationJob.setDebug(false);
+        snapshot.set(new Snapshot(verifier, areTLsLoaded, tlVersion));
+    }
 
-        logger.debug("Starting signature validator offline refresh");
-        validationJob.offlineRefresh();
+    private static String getTLFingerprint(TLValidationJobSummary summary) {
+        var versions = new ArrayList<String>();
+        for (var lotl : summary.getLOTLInfos()) {
+            versions.add(getTLFingerprint(lotl));
+            for (var tl : lotl.getTLInfos())
+                versions.add(getTLFingerprint(tl));
+        }
+
+        for (var tl : summary.getOtherTLInfos())
+            versions.add(getTLFingerprint(tl));
+
+        versions.sort(null);
+        return String.join(";", versions);
+    }
 
-        verifier = new CommonCertificateVerifier();
-        verifier.setTrustedCertSources(trustedListCertificateSource);
-        verifier.setCrlSource(new OnlineCRLSource());
-        verifier.setOcspSource(new OnlineOCSPSource());
+    private static String getTLFingerprint(TLInfo info) {
+        var parsing = info.getParsingCacheInfo();
+        var validation = info.getValidationCacheInfo();
 
-        logger.debug("Signature validator initialized at {}", formatter.format(new Date()));
+        return info.getUrl() + "#" + (parsing == null ? null : parsing.getSequenceNumber()) + "#"
+                + (parsing == null ? null : parsing.getIssueDate()) + "#"
+                + (validation == null ? null : validation.getIndication());
+    }
+
+    /**
+     * Trusted lists are downloaded in parallel by the validation job, the last download of each is kept per country
+     */
+    private void recordRefreshes() {
+        var downloads = tlLoader.getDownloads();
+        var refreshes = new TreeMap<String, TrustedListLoader.Download>();
+        var summary = validationJob.getSummary();
+        for (var lotl : summary.getLOTLInfos()) {
+            recordRefresh(refreshes, downloads, lotl);
+            for (var tl : lotl.getTLInfos())
+                recordRefresh(refreshes, downloads, tl);
+        }
+
+        for (var tl : summary.getOtherTLInfos())
+            recordRefresh(refreshes, downloads, tl);
+
+        tlRefreshes = Collections.unmodifiableMap(refreshes);
+    }
+
+    private static void recordRefresh(Map<String, TrustedListLoader.Download> refreshes,
+            Map<String, TrustedListLoader.Download> downloads, TLInfo info) {
+        var download = downloads.get(info.getUrl());
+        if (download == null)
+            return;
+
+        var parsing = info.getParsingCacheInfo();
+        var country = parsing != null && parsing.getTerritory() != null ? parsing.getTerritory() : info.getUrl();
+        refreshes.put(country, download);
+        logger.debug("Trusted list {} {} in {} ms", country, download.outcome(), download.duration().toMillis());
+    }
+
+    /**
+     * Outcome and duration of the last download of LOTL and trusted lists keyed by country
+     */
+    public Map<String, TrustedListLoader.Download> getTrustedListRefreshes() {
+        return tlRefreshes;
+    }
+
+    private void markStarted(long startedAt) {
+        if (startupDuration != null)
+            return;
+
+        startupDuration = Duration.ofNanos(System.nanoTime() - startedAt);
+        logger.debug("Signature validator ready after {} ms", startupDuration.toMillis());
+    }
+
+    /**
+     * Time from the start of initialization until signatures could be validated against trusted lists, null before
+     */
+    public Duration getStartupDuration() {
+        return startupDuration;
     }
 
     private CertificateSource getJournalCertificateSource() throws AssertionError {
@@ -125,12 +335,27 @@ public class SignatureValidator {
         }
     }
 
-    public synchronized ValidationReports getSignatureValidationReport(SigningJob job) {
-        var documentValidator = createDocumentValidator(job.getDocument());
-        if (documentValidator == null)
-            return new ValidationReports(null, job);
+    public ValidationReports getSignatureValidationReport(SigningJob job) {
+        return new ValidationSession(job).validate();
+    }
 
-        return new ValidationReports(validate(documentValidator), job);
+    /**
+     * Report stylesheet and page template, loaded and compiled once on first use
+     */
+    private static class SimpleReport {
+        private static final Templates TEMPLATES;
+        private static final String PAGE;
+
+        static {
+            try (var xslt = SignatureValidator.class.getResourceAsStream("simple-report-bootstrap4.xslt");
+                    var page = SignatureValidator.class.getResourceAsStream("simple-report-template.html")) {
+                TEMPLATES = XMLUtils.getSecureTransformerFactory().newTemplates(new StreamSource(xslt));
+                PAGE = new String(page.readAllBytes(), StandardCharsets.UTF_8);
+
+            } catch (IOException | TransformerConfigurationException | NullPointerException e) {
+                throw new AssertionError("Cannot load simple report template", e);
+            }
+        }
     }
 
     public static String getSignatureValidationReportHTML(Reports signatureValidationReport) {
@@ -138,18 +363,12 @@ public class SignatureValidator {
             var document = XMLUtils.getSecureDocumentBuilder().parse(new InputSource(new StringReader(signatureValidationReport.getXmlSimpleReport())));
             var xmlSource = new DOMSource(document);
 
-            var xsltFile = SignatureValidator.class.getResourceAsStream("simple-report-bootstrap4.xslt");
-            var xsltSource = new StreamSource(xsltFile);
-
             var outputTarget = new StreamResult(new StringWriter());
-            var transformer = XMLUtils.getSecureTransformerFactory().newTransformer(xsltSource);
+            var transformer = SimpleReport.TEMPLATES.newTransformer();
             transformer.transform(xmlSource, outputTarget);
 
             var r = outputTarget.getWriter().toString().trim();
-
-            var templateFile = SignatureValidator.class.getResourceAsStream("simple-report-template.html");
-            var templateString = new String(templateFile.readAllBytes(), StandardCharsets.UTF_8);
-            return templateString.replace("{{content}}", r);
+            return SimpleReport.PAGE.replace("{{content}}", r);
 
         } catch (SAXException | IOException | ParserConfigurationException | TransformerException e) {
             return "Error transforming validation report";
@@ -157,15 +376,14 @@ public class SignatureValidator {
     }
 
     public static ValidationReports getSignatureCheckReport(SigningJob job) {
-        var validator = createDocumentValidator(job.getDocument());
-        if (validator == null)
-            return new ValidationReports(null, job);
-
-        validator.setCertificateVerifier(new CommonCertificateVerifier());
-        return new ValidationReports(validator.validateDocument(), job);
+        return new ValidationSession(job).check();
     }
 
     public static SignatureLevel getSignedDocumentSignatureLevel(DSSDocument document) {
+        var format = SignatureFormatDetector.detect(document);
+        if (format != SignatureFormatDetector.Format.UNKNOWN)
+            return format.getSignatureLevel();
+
         var validator = createDocumentValidator(document);
         if (validator == null)
             return null;
@@ -178,8 +396,27 @@ public class SignatureValidator {
         return report.getSignatureFormat(report.getSignatureIdList().get(0));
     }
 
-    public synchronized boolean areTLsLoaded() {
-        // TODO: consider validation turned off as well
-        return validationJob.getSummary().getNumberOfProcessedTLs() > 0;
+    public ValidationReportsCache getReportsCache() {
+        return reportsCache;
+    }
+
+    /**
+     * Revocation data older than max staleness is requested again, also when it says it is valid for longer
+     */
+    public void setRevocationMaxStaleness(Duration maxStaleness) {
+        crlSource.setMaxStaleness(maxStaleness);
+        ocspSource.setMaxStaleness(maxStaleness);
+    }
+
+    public CachedCRLSource getCrlSource() {
+        return crlSource;
+    }
+
+    public CachedOCSPSource getOcspSource() {
+        return ocspSource;
+    }
+
+    public boolean areTLsLoaded() {
+        return snapshot.get().areTLsLoaded();
     }
 }
@@ -7,15 +7,11 @@ import digital.slovensko.autogram.core.eforms.XDCBuilder;
 import digital.slovensko.autogram.core.eforms.XDCValidator;
 import digital.slovensko.autogram.core.errors.AutogramException;
 import digital.slovensko.autogram.util.Logging;
-import eu.europa.esig.dss.asic.cades.signature.ASiCWithCAdESService;
-import eu.europa.esig.dss.asic.xades.signature.ASiCWithXAdESService;
-import eu.europa.esig.dss.cades.signature.CAdESService;
+import eu.europa.esig.dss.AbstractSignatureParameters;
 import eu.europa.esig.dss.enumerations.SignatureLevel;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.FileDocument;
-import eu.europa.esig.dss.pades.signature.PAdESService;
-import eu.europa.esig.dss.validation.CommonCertificateVerifier;
-import eu.europa.esig.dss.xades.signature.XAdESService;
+import eu.europa.esig.dss.signature.DocumentSignatureService;
 
 import static digital.slovensko.autogram.core.AutogramMimeType.*;
 
@@ -42,101 +38,47 @@ public class SigningJob {
         return parameters.getVisualizationWidth();
     }
 
-    public void signWithKeyAndRespond(SigningKey key) throws InterruptedException, AutogramException {
-
+    /**
+     * First stage of signing - computes data to be signed, does not touch the token
+     */
+    public PreparedSignature<?> prepareSignature(SigningKey key, SignatureServices services) {
         Logging.log("Signing Job: " + this.hashCode() + " file " + getDocument().getName());
         boolean isContainer = getParameters().getContainer() != null;
-        var doc = switch (getParameters().getSignatureType()) {
-            case XAdES -> isContainer ? signDocumentAsAsiCWithXAdeS(key) : signDocumentAsXAdeS(key);
-            case CAdES -> isContainer ? signDocumentAsASiCWithCAdeS(key) : signDocumentAsCAdeS(key);
-            case PAdES -> signDocumentAsPAdeS(key);
+        return switch (getParameters().getSignatureType()) {
+            case XAdES -> isContainer
+                    ? prepare(services.getASiCWithXAdESService(), getParameters().getASiCWithXAdESSignatureParameters(), key)
+                    : prepare(services.getXAdESService(), getParameters().getXAdESSignatureParameters(), key);
+            case CAdES -> isContainer
+                    ? prepare(services.getASiCWithCAdESService(), getParameters().getASiCWithCAdESSignatureParameters(), key)
+                    : prepare(services.getCAdESService(), getParameters().getCAdESSignatureParameters(), key);
+            case PAdES -> prepare(services.getPAdESService(), getParameters().getPAdESSignatureParameters(), key);
             default -> throw new RuntimeException(
                     "Unsupported signature type: " + getParameters().getSignatureType());
         };
-        responder.onDocumentSigned(new SignedDocument(doc, key.getCertificate()));
-    }
-
-    public void onDocumentSignFailed(AutogramException e) {
-        responder.onDocumentSignFailed(e);
-    }
-
-    private DSSDocument signDocumentAsCAdeS(SigningKey key) {
-        var commonCertificateVerifier = new CommonCertificateVerifier();
-        var service = new CAdESService(commonCertificateVerifier);
-        var jobParameters = getParameters();
-        var signatureParameters = getParameters().getCAdESSignatureParameters();
-
-        signatureParameters.setSigningCertificate(key.getCertificate());
-        signatureParameters.setCertificateChain(key.getCertificateChain());
-        signatureParameters.setSignWithExpiredCertificate(true);
-
-        var dataToSign = service.getDataToSign(getDocument(), signatureParameters);
-        var signatureValue = key.sign(dataToSign, jobParameters.getDigestAlgorithm());
-
-        return service.signDocument(getDocument(), signatureParameters, signatureValue);
-    }
-
-    private DSSDocument signDocumentAsAsiCWithXAdeS(SigningKey key) {
-        var commonCertificateVerifier = new CommonCertificateVerifier();
-        var service = new ASiCWithXAdESService(commonCertificateVerifier);
-        var signatureParameters = getParameters().getASiCWithXAdESSignatureParameters();
-
-        signatureParameters.setSigningCertificate(key.getCertificate());
-        signatureParameters.setCertificateChain(key.getCertificateChain());
-        signatureParameters.setSignWithExpiredCertificate(true);
-
-        var dataToSign = service.getDataToSign(getDocument(), signatureParameters);
-        var signatureValue = key.sign(dataToSign, getParameters().getDigestAlgorithm());
-
-        return service.signDocument(getDocument(), signatureParameters, signatureValue);
     }
 
-    private DSSDocument signDocumentAsXAdeS(SigningKey key) {
-        var commonCertificateVerifier = new CommonCertificateVerifier();
-        var service = new XAdESService(commonCertificateVerifier);
-        var jobParameters = getParameters();
-        var signatureParameters = getParameters().getXAdESSignatureParameters();
-
-        signatureParameters.setSigningCertificate(key.getCertificate());
-        signatureParameters.setCertificateChain(key.getCertificateChain());
-        signatureParameters.setSignWithExpiredCertificate(true);
-
-        var dataToSign = service.getDataToSign(getDocument(), signatureParameters);
-        var signatureValue = key.sign(dataToSign, jobParameters.getDigestAlgorithm());
-
-        return service.signDocument(getDocument(), signatureParameters, signatureValue);
+    /**
+     * Last stage of signing - assembles signed document from token signature and responds with it
+     */
+    public void assembleAndRespond(PreparedSignature<?> preparedSignature) {
+        var doc = preparedSignature.assemble();
+        responder.onDocumentSigned(new SignedDocument(doc, preparedSignature.getKey().getCertificate()));
     }
 
-    private DSSDocument signDocumentAsASiCWithCAdeS(SigningKey key) {
-        var commonCertificateVerifier = new CommonCertificateVerifier();
-        var service = new ASiCWithCAdESService(commonCertificateVerifier);
-        var jobParameters = getParameters();
-        var signatureParameters = getParameters().getASiCWithCAdESSignatureParameters();
-
-        signatureParameters.setSigningCertificate(key.getCertificate());
-        signatureParameters.setCertificateChain(key.getCertificateChain());
-        signatureParameters.setSignWithExpiredCertificate(true);
-
-        var dataToSign = service.getDataToSign(getDocument(), signatureParameters);
-        var signatureValue = key.sign(dataToSign, jobParameters.getDigestAlgorithm());
-
-        return service.signDocument(getDocument(), signatureParameters, signatureValue);
+    public void onDocumentSignFailed(AutogramException e) {
+        responder.onDocumentSignFailed(e);
     }
 
-    private DSSDocument signDocumentAsPAdeS(SigningKey key) {
-        var commonCertificateVerifier = new CommonCertificateVerifier();
-        var service = new PAdESService(commonCertificateVerifier);
-        var jobParameters = getParameters();
-        var signatureParameters = getParameters().getPAdESSignatureParameters();
-
+    private <P extends AbstractSignatureParameters<?>> PreparedSignature<P> prepare(DocumentSignatureService<P, ?> service,
+            P signatureParameters, SigningKey key) {
         signatureParameters.setSigningCertificate(key.getCertificate());
         signatureParameters.setCertificateChain(key.getCertificateChain());
         signatureParameters.setSignWithExpiredCertificate(true);
 
         var dataToSign = service.getDataToSign(getDocument(), signatureParameters);
-        var signatureValue = key.sign(dataToSign, jobParameters.getDigestAlgorithm());
 
-        return service.signDocument(getDocument(), signatureParameters, signatureValue);
+        return new PreparedSignature<>(service, getDocument(), signatureParameters, key,
+                getParameters().getDigestAlgorithm(), dataToSign);
     }
 
     public static FileDocument createDSSFileDocumentFromFile(File file) {
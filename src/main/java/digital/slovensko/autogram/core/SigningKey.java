@@ -22,7 +22,9 @@ public class SigningKey {
     }
 
     public SignatureValue sign(ToBeSigned dataToSign, DigestAlgorithm algo) {
-        return token.sign(dataToSign, algo, privateKey);
+        synchronized (token) { // tokens do not handle concurrent sessions
+            return token.sign(dataToSign, algo, privateKey);
+        }
     }
 
     public CertificateToken getCertificate() {
@@ -0,0 +1,62 @@
+package digital.slovensko.autogram.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import digital.slovensko.autogram.core.errors.AutogramException;
+import eu.europa.esig.dss.model.DSSException;
+
+/**
+ * Signs jobs in three stages, each on its own thread, so the token signs document N while
+ * document N+1 is being prepared and document N-1 assembled. The token stage runs on the signing lane shared with
+ * single documents, so the token is used by one thread only.
+ */
+public class SigningPipeline {
+    private final ExecutorService prepareExecutor = newDaemonExecutor("autogram-sign-prepare");
+    private final ExecutorService tokenExecutor = ExecutorRegistry.getInstance().getExecutor(ExecutorRegistry.Lane.SIGNING);
+    private final ExecutorService assembleExecutor = newDaemonExecutor("autogram-sign-assemble");
+    private final SignatureServices services;
+
+    public SigningPipeline(SignatureServices services) {
+        this.services = services;
+    }
+
+    /**
+     * Schedules the job, returned future is completed after the responder was notified about the signed document or
+     * about failure of any stage
+     */
+    public CompletableFuture<Void> submit(SigningJob job, SigningKey key) {
+        return CompletableFuture.supplyAsync(() -> job.prepareSignature(key, services), prepareExecutor)
+                .thenApplyAsync(PreparedSignature::sign, tokenExecutor)
+                .thenAcceptAsync(job::assembleAndRespond, assembleExecutor)
+                .whenComplete((result, e) -> {
+                    if (e != null)
+                        job.onDocumentSignFailed(toAutogramException(e instanceof CompletionException ? e.getCause() : e));
+                });
+    }
+
+    private static AutogramException toAutogramException(Throwable e) {
+        if (e instanceof AutogramException autogramException)
+            return autogramException;
+
+        if (e instanceof DSSException dssException)
+            return AutogramException.createFromDSSException(dssException);
+
+        return new AutogramException("Document signing has failed", "", "", e);
+    }
+
+    public void shutdown() {
+        prepareExecutor.shutdown();
+        assembleExecutor.shutdown();
+    }
+
+    private static ExecutorService newDaemonExecutor(String name) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
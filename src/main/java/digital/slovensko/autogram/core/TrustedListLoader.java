@@ -0,0 +1,265 @@
+package digital.slovensko.autogram.core;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import digital.slovensko.autogram.util.Digests;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
+
+/**
+ * Downloads LOTL and trusted lists with conditional requests. Files are kept on disk together with their ETag and
+ * Last-Modified headers, a file checked within max age is not requested at all and an unchanged file costs only a
+ * 304 response. Trusted lists are downloaded by parallel tasks of TLValidationJob, so the loader is thread-safe.
+ */
+public class TrustedListLoader implements DSSFileLoader {
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final Path directory;
+    private final long maxAge;
+    private final transient HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(TIMEOUT)
+            .build();
+    private final Map<String, Download> downloads = new ConcurrentHashMap<>();
+    private final LongAdder updates = new LongAdder();
+    private final Object contentLock = new Object();
+
+    public enum Outcome {
+        /** Checked within max age, not requested */
+        CACHED,
+        /** Server responded the file did not change */
+        NOT_MODIFIED,
+        /** New content was downloaded */
+        UPDATED,
+        /** Request failed, stored content was used if there was any */
+        FAILED
+    }
+
+    public record Download(String url, Outcome outcome, Duration duration, Instant finishedAt) {
+    }
+
+    public TrustedListLoader(Path directory, Duration maxAge) {
+        this.directory = directory;
+        this.maxAge = maxAge.toMillis();
+    }
+
+    @Override
+    public DSSDocument getDocument(String url) throws DSSException {
+        var startedAt = System.nanoTime();
+        var index = readIndex(url);
+        var content = index == null ? null : readContent(index.getProperty("content"));
+        if (content != null && !isExpired(index)) {
+            record(url, Outcome.CACHED, startedAt);
+            return new InMemoryDocument(content, url);
+        }
+
+        try {
+            var request = HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET();
+            if (content != null && index.getProperty("etag") != null)
+                request.header("If-None-Match", index.getProperty("etag"));
+            if (content != null && index.getProperty("lastModified") != null)
+                request.header("If-Modified-Since", index.getProperty("lastModified"));
+
+            var response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 304 && content != null) {
+                writeIndex(url, index, response, index.getProperty("content"));
+                record(url, Outcome.NOT_MODIFIED, startedAt);
+                return new InMemoryDocument(content, url);
+            }
+
+            if (response.statusCode() != 200)
+                throw new IOException("Unexpected response status " + response.statusCode());
+
+            var downloaded = response.body();
+            var changed = content == null;
+            synchronized (contentLock) {
+                var digest = writeContent(downloaded);
+                writeIndex(url, new Properties(), response, digest);
+
+                changed = changed || !digest.equals(index.getProperty("content"));
+                if (changed && content != null)
+                    deleteContent(index.getProperty("content"));
+            }
+            if (changed)
+                updates.increment();
+
+            record(url, changed ? Outcome.UPDATED : Outcome.NOT_MODIFIED, startedAt);
+            return new InMemoryDocument(downloaded, url);
+
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            if (e instanceof InterruptedException)
+                Thread.currentThread().interrupt();
+
+            record(url, Outcome.FAILED, startedAt);
+            if (content != null)
+                return new InMemoryDocument(content, url);
+
+            throw new DSSException("Cannot download " + url, e);
+        }
+    }
+
+    @Override
+    public boolean remove(String url) {
+        try {
+            return Files.deleteIfExists(getIndexFile(url));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Loader which serves only files stored by earlier downloads and checked within max age, without any request. It
+     * is used at start, signatures of the stored files are validated by DSS again as if they were just downloaded.
+     */
+    public DSSFileLoader getStoredFileLoader(Duration maxAge) {
+        return new DSSFileLoader() {
+            @Override
+            public DSSDocument getDocument(String url) throws DSSException {
+                var index = readIndex(url);
+                var content = index == null ? null : readContent(index.getProperty("content"));
+                var checkedAt = index == null ? 0 : Long.parseLong(index.getProperty("checkedAt"));
+                if (content == null || System.currentTimeMillis() - checkedAt >= maxAge.toMillis())
+                    throw new DSSException("No stored file for " + url);
+
+                return new InMemoryDocument(content, url);
+            }
+
+            @Override
+            public boolean remove(String url) {
+                // stored files are kept for the refresh which follows
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Last download of every requested URL
+     */
+    public Map<String, Download> getDownloads() {
+        return Map.copyOf(downloads);
+    }
+
+    /**
+     * Number of downloads which brought new content, compared before and after refresh to find out if anything changed
+     */
+    public long getUpdates() {
+        return updates.sum();
+    }
+
+    private void record(String url, Outcome outcome, long startedAt) {
+        downloads.put(url, new Download(url, outcome, Duration.ofNanos(System.nanoTime() - startedAt), Instant.now()));
+    }
+
+    private boolean isExpired(Properties index) {
+        return System.currentTimeMillis() - Long.parseLong(index.getProperty("checkedAt")) >= maxAge;
+    }
+
+    private Path getIndexFile(String url) {
+        return directory.resolve(Digests.sha256Hex(url) + ".properties");
+    }
+
+    private Properties readIndex(String url) {
+        try {
+            var indexFile = getIndexFile(url);
+            if (!Files.isRegularFile(indexFile))
+                return null;
+
+            var index = new Properties();
+            try (var reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+                index.load(reader);
+            }
+
+            Long.parseLong(index.getProperty("checkedAt"));
+            return url.equals(index.getProperty("url")) ? index : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private byte[] readContent(String digest) {
+        try {
+            if (digest == null)
+                return null;
+
+            var file = directory.resolve(digest);
+            if (!Files.isRegularFile(file))
+                return null;
+
+            var content = Files.readAllBytes(file);
+            return digest.equals(Digests.sha256Hex(content)) ? content : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeIndex(String url, Properties index, HttpResponse<?> response, String digest) {
+        try {
+            Files.createDirectories(directory);
+
+            index.setProperty("url", url);
+            index.setProperty("content", digest);
+            index.setProperty("checkedAt", Long.toString(System.currentTimeMillis()));
+            response.headers().firstValue("ETag").ifPresent(etag -> index.setProperty("etag", etag));
+            response.headers().firstValue("Last-Modified").ifPresent(date -> index.setProperty("lastModified", date));
+
+            var tmpFile = Files.createTempFile(directory, "index-", ".tmp");
+            try (var writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                index.store(writer, null);
+            }
+            Files.move(tmpFile, getIndexFile(url), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // file is downloaded again next time
+        }
+    }
+
+    private String writeContent(byte[] content) throws IOException {
+        var digest = Digests.sha256Hex(content);
+        if (readContent(digest) == null) {
+            Files.createDirectories(directory);
+            var tmpFile = Files.createTempFile(directory, "content-", ".tmp");
+            Files.write(tmpFile, content);
+            Files.move(tmpFile, directory.resolve(digest), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        return digest;
+    }
+
+    /**
+     * Content is stored once for all URLs with the same content, so it is deleted only when no other index refers to it
+     */
+    private void deleteContent(String digest) {
+        try (var indexFiles = Files.newDirectoryStream(directory, "*.properties")) {
+            for (var indexFile : indexFiles) {
+                var index = new Properties();
+                try (var reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+                    index.load(reader);
+                }
+
+                if (digest.equals(index.getProperty("content")))
+                    return;
+            }
+
+            Files.deleteIfExists(directory.resolve(digest));
+        } catch (IOException | RuntimeException e) {
+            // unused content is only a waste of disk space
+        }
+    }
+}
@@ -2,17 +2,20 @@ package digital.slovensko.autogram.core;
 
 import eu.europa.esig.dss.validation.reports.Reports;
 
+/**
+ * Keeps only the summary of reports, the full report is created again when the user asks for it
+ */
 public class ValidationReports {
-    private final Reports reports;
+    private final ValidationSummary summary;
     private final SigningJob signingJob;
 
     public ValidationReports(Reports reports, SigningJob signingJob) {
-        this.reports = reports;
+        this.summary = reports == null ? null : ValidationSummary.buildFromReports(reports);
         this.signingJob = signingJob;
     }
 
-    public Reports getReports() {
-        return reports;
+    public ValidationSummary getSummary() {
+        return summary;
     }
 
     public SigningJob getSigningJob() {
@@ -20,6 +23,18 @@ public class ValidationReports {
     }
 
     public boolean haveSignatures() {
-        return reports != null && reports.getSimpleReport().getSignaturesCount() > 0;
+        return summary != null && !summary.signatures().isEmpty();
+    }
+
+    /**
+     * Usually served by the reports cache of the validator, the document is validated again only if the cached
+     * reports expired or trusted lists changed meanwhile
+     */
+    public String createReportHTML() {
+        var reports = SignatureValidator.getInstance().validate(signingJob.getDocument());
+        if (reports == null)
+            return null;
+
+        return SignatureValidator.getSignatureValidationReportHTML(reports);
     }
 }
@@ -0,0 +1,76 @@
+package digital.slovensko.autogram.core;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+/**
+ * Validation reports of recently validated documents keyed by SHA-256 digest of the document and version of trusted
+ * lists the document was validated against. Reports are also dropped after max age, so that revocation status of
+ * signing certificates is checked again.
+ */
+public class ValidationReportsCache {
+    private final Map<String, Entry> reports;
+    private final long maxAge;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private record Entry(Reports reports, long createdAt) {
+    }
+
+    public ValidationReportsCache(int maxEntries, Duration maxAge) {
+        this.maxAge = maxAge.toNanos();
+        this.reports = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Reports get(DSSDocument document, long tlVersion, Supplier<Reports> validation) {
+        var key = document.getDigest(DigestAlgorithm.SHA256) + "@" + tlVersion;
+        synchronized (reports) {
+            var cached = reports.get(key);
+            if (cached != null && System.nanoTime() - cached.createdAt() < maxAge) {
+                hits.increment();
+                return cached.reports();
+            }
+        }
+
+        // validated outside of the lock, so documents are validated concurrently
+        misses.increment();
+        var validated = validation.get();
+        synchronized (reports) {
+            reports.put(key, new Entry(validated, System.nanoTime()));
+        }
+
+        return validated;
+    }
+
+    public void clear() {
+        synchronized (reports) {
+            reports.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (reports) {
+            return reports.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,52 @@
+package digital.slovensko.autogram.core;
+
+import static digital.slovensko.autogram.util.DSSUtils.createDocumentValidator;
+
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+
+/**
+ * Validation of signatures of one document. The document is parsed once, signatures found by the structural check are
+ * reused by the trust validation. Not thread safe, a session is used by a single worker.
+ */
+public class ValidationSession {
+    private final SigningJob job;
+    private final SignedDocumentValidator validator;
+    private ValidationReports checkReports;
+    private ValidationReports validationReports;
+
+    public ValidationSession(SigningJob job) {
+        this.job = job;
+        this.validator = createDocumentValidator(job.getDocument());
+    }
+
+    /**
+     * Structural check without trusted lists and revocation data
+     */
+    public ValidationReports check() {
+        if (checkReports != null)
+            return checkReports;
+
+        if (validator == null)
+            return checkReports = new ValidationReports(null, job);
+
+        validator.setCertificateVerifier(new CommonCertificateVerifier());
+        return checkReports = new ValidationReports(validator.validateDocument(), job);
+    }
+
+    /**
+     * Validation against published trusted lists, documents in which the check found no signatures are not validated again
+     */
+    public ValidationReports validate() {
+        if (validationReports != null)
+            return validationReports;
+
+        if (validator == null)
+            return validationReports = new ValidationReports(null, job);
+
+        if (checkReports != null && !checkReports.haveSignatures())
+            return validationReports = checkReports;
+
+        return validationReports = new ValidationReports(SignatureValidator.getInstance().validate(job.getDocument(), validator), job);
+    }
+}
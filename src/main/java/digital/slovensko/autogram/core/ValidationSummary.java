@@ -0,0 +1,75 @@
+package digital.slovensko.autogram.core;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureQualification;
+import eu.europa.esig.dss.enumerations.TimestampQualification;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+/**
+ * What is displayed about signatures of a document, extracted from DSS reports so that the reports themselves do not
+ * have to stay in memory while the signing dialog is open
+ */
+public record ValidationSummary(List<Signature> signatures) {
+    public record Signature(String id, String signedBy, Date signingTime, String certificateDN, String issuerDN,
+                            boolean isValid, boolean isFailed, boolean isRevocationValidated,
+                            SignatureQualification qualification, List<Timestamp> timestamps) {
+        public boolean areTimestampsFailed() {
+            return timestamps.stream().anyMatch(Timestamp::isFailed);
+        }
+
+        public boolean areTimestampsQualified() {
+            return timestamps.stream().allMatch(t -> TimestampQualification.QTSA.equals(t.qualification()));
+        }
+    }
+
+    public record Timestamp(String id, Date productionTime, Indication indication, String certificateDN,
+                            TimestampQualification qualification, boolean isQualified) {
+        public boolean isFailed() {
+            return indication == Indication.TOTAL_FAILED || indication == Indication.FAILED;
+        }
+    }
+
+    public ValidationSummary {
+        signatures = List.copyOf(signatures);
+    }
+
+    public static ValidationSummary buildFromReports(Reports reports) {
+        var simple = reports.getSimpleReport();
+        var detailed = reports.getDetailedReport();
+        var diagnostic = reports.getDiagnosticData();
+
+        var signatures = new ArrayList<Signature>();
+        for (var signatureId : simple.getSignatureIdList()) {
+            var certificate = diagnostic.getSignatureById(signatureId).getSigningCertificate();
+
+            var isRevocationValidated = true;
+            for (var error : simple.getAdESValidationErrors(signatureId))
+                if (error.getValue().contains("No revocation data found for the certificate"))
+                    isRevocationValidated = false;
+
+            var timestamps = new ArrayList<Timestamp>();
+            for (var timestamp : simple.getSignatureTimestamps(signatureId))
+                timestamps.add(new Timestamp(timestamp.getId(), timestamp.getProductionTime(),
+                        timestamp.getIndication(),
+                        diagnostic.getCertificateDN(diagnostic.getTimestampSigningCertificateId(timestamp.getId())),
+                        simple.getTimestampQualification(timestamp.getId()),
+                        timestamp.getQualificationDetails() != null));
+
+            signatures.add(new Signature(signatureId, simple.getSignedBy(signatureId),
+                    simple.getSigningTime(signatureId), certificate.getCertificateDN(),
+                    diagnostic.getCertificateIssuerDN(certificate.getId()), simple.isValid(signatureId),
+                    Indication.FAILED.equals(detailed.getBasicValidationIndication(signatureId)),
+                    isRevocationValidated, detailed.getSignatureQualification(signatureId), List.copyOf(timestamps)));
+        }
+
+        return new ValidationSummary(signatures);
+    }
+
+    public boolean areAllValid() {
+        return signatures.stream().allMatch(Signature::isValid);
+    }
+}
@@ -0,0 +1,192 @@
+package digital.slovensko.autogram.core;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of tasks handed to an executor. Producers which may wait, like a work thread going through a large
+ * batch, are held until a task finishes. Tasks of a producer which must never wait, the UI thread, are deferred
+ * instead and handed to the executor as soon as a task finishes. Tasks of an owner, like a signing job, which have not
+ * started yet can be cancelled when the owner goes away.
+ */
+public class WorkQueue {
+    private final Executor executor;
+    private final Semaphore slots;
+    private final Queue<Task> deferred = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Map<Object, Set<Task>> tasksByOwner = new ConcurrentHashMap<>();
+
+    public WorkQueue(Executor executor, int capacity) {
+        this.executor = executor;
+        this.slots = new Semaphore(capacity);
+    }
+
+    /**
+     * Submits the task, waiting for a free slot if mayWait is set, deferring the task otherwise
+     *
+     * @param owner - tasks of the owner can be cancelled together, may be null
+     */
+    public Future<?> submit(Object owner, Runnable runnable, boolean mayWait) {
+        var holdsSlot = slots.tryAcquire();
+        if (!holdsSlot && mayWait) {
+            try {
+                slots.acquire();
+                holdsSlot = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for a free slot", e);
+            }
+        }
+
+        var task = new Task(owner, runnable);
+        pending.incrementAndGet();
+        if (owner != null)
+            tasksByOwner.computeIfAbsent(owner, o -> ConcurrentHashMap.newKeySet()).add(task);
+
+        if (!holdsSlot) {
+            deferred.add(task);
+            // a slot may have been released before the task was added
+            executeDeferred();
+            return task;
+        }
+
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            slots.release();
+            task.cancelUnclaimed();
+            throw e;
+        }
+
+        return task;
+    }
+
+    /**
+     * Cancels tasks of the owner which have not started yet, running tasks are left to finish
+     *
+     * @return number of cancelled tasks
+     */
+    public int cancel(Object owner) {
+        var tasks = tasksByOwner.remove(owner);
+        if (tasks == null)
+            return 0;
+
+        var cancelled = 0;
+        for (var task : tasks)
+            if (task.cancelUnclaimed())
+                cancelled++;
+
+        return cancelled;
+    }
+
+    /**
+     * Number of tasks submitted and not finished yet, deferred, waiting and running
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Number of tasks of producers which must not wait kept until a slot is free
+     */
+    public int getDeferredCount() {
+        return deferred.size();
+    }
+
+    private void executeDeferred() {
+        while (!deferred.isEmpty() && slots.tryAcquire()) {
+            var task = deferred.poll();
+            // cancelled tasks are dropped here, the slot goes to the next one
+            if (task == null || task.isClaimed()) {
+                slots.release();
+                continue;
+            }
+
+            try {
+                executor.execute(task);
+            } catch (RuntimeException e) {
+                slots.release();
+                task.failUnclaimed(e);
+            }
+        }
+    }
+
+    /**
+     * Every task handed to the executor holds a slot, which it releases when the executor runs it, also when it was
+     * cancelled in the meantime. Running and cancelling claim the task, whichever comes first, so a task which has
+     * started is never reported as cancelled.
+     */
+    private class Task extends FutureTask<Void> {
+        private final Object owner;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        Task(Object owner, Runnable runnable) {
+            super(runnable, null);
+            this.owner = owner;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (claimed.compareAndSet(false, true))
+                    super.run();
+            } finally {
+                slots.release();
+                executeDeferred();
+            }
+        }
+
+        boolean isClaimed() {
+            return claimed.get();
+        }
+
+        boolean cancelUnclaimed() {
+            return claimed.compareAndSet(false, true) && cancel(false);
+        }
+
+        void failUnclaimed(Throwable e) {
+            if (claimed.compareAndSet(false, true))
+                setException(e);
+        }
+
+        @Override
+        protected void done() {
+            pending.decrementAndGet();
+            if (owner != null)
+                tasksByOwner.computeIfPresent(owner, (o, tasks) -> {
+                    tasks.remove(this);
+                    return tasks.isEmpty() ? null : tasks;
+                });
+
+            reportFailure();
+        }
+
+        /**
+         * Failures are reported the same way as of tasks executed directly instead of being kept in the future
+         */
+        private void reportFailure() {
+            if (isCancelled())
+                return;
+
+            try {
+                get();
+            } catch (ExecutionException e) {
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
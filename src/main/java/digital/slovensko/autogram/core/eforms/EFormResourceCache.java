@@ -0,0 +1,189 @@
+package digital.slovensko.autogram.core.eforms;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.xml.crypto.dsig.CanonicalizationMethod;
+
+import digital.slovensko.autogram.core.errors.XMLValidationException;
+import digital.slovensko.autogram.util.Digests;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+
+/**
+ * Two-tier cache of eForm resources. Recently used forms are kept in a bounded in-memory LRU keyed by form URI
+ * and version, everything else is stored on disk. Resource contents on disk are addressed by their SHA-256 digest
+ * and checked against it when read back, so a damaged file is never used.
+ */
+public class EFormResourceCache {
+    private static final EFormResourceCache instance = new EFormResourceCache(
+            Path.of(System.getProperty("java.io.tmpdir"), "autogram-eforms-cache"), 64, 21600000); // 6 hours
+
+    private final Path directory;
+    private final long expirationTime;
+    private final Map<String, Entry> entries;
+
+    public record Entry(String transformation, String schema, String transformationDigest, String schemaDigest,
+            long loadedAt) {
+    }
+
+    public interface Loader {
+        Resources load() throws XMLValidationException;
+    }
+
+    public record Resources(byte[] transformation, byte[] schema) {
+    }
+
+    public static EFormResourceCache getInstance() {
+        return instance;
+    }
+
+    public EFormResourceCache(Path directory, int maxEntries, long expirationTime) {
+        this.directory = directory;
+        this.expirationTime = expirationTime;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns resources of the form identified by its URI (which includes form version), loading them only if they
+     * are neither in memory nor on disk. Returns null if the resources cannot be loaded.
+     */
+    public Entry get(String formUri, Loader loader) throws XMLValidationException {
+        var entry = getFromMemory(formUri);
+        if (entry != null)
+            return entry;
+
+        entry = readFromDisk(formUri);
+        if (entry == null) {
+            var resources = loader.load();
+            if (resources == null || resources.transformation() == null || resources.schema() == null)
+                return null;
+
+            entry = createEntry(resources.transformation(), resources.schema(), System.currentTimeMillis());
+            writeToDisk(formUri, resources, entry.loadedAt());
+        }
+
+        synchronized (entries) {
+            entries.put(formUri, entry);
+        }
+
+        return entry;
+    }
+
+    public void clearMemory() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private Entry getFromMemory(String formUri) {
+        synchronized (entries) {
+            var entry = entries.get(formUri);
+            if (entry == null || isExpired(entry.loadedAt()))
+                return null;
+
+            return entry;
+        }
+    }
+
+    private boolean isExpired(long loadedAt) {
+        return System.currentTimeMillis() - loadedAt > expirationTime;
+    }
+
+    private static Entry createEntry(byte[] transformation, byte[] schema, long loadedAt) throws XMLValidationException {
+        var encoding = StandardCharsets.UTF_8;
+        var transformationDigest = EFormUtils.computeDigest(transformation, CanonicalizationMethod.INCLUSIVE,
+                DigestAlgorithm.SHA256, encoding);
+        var schemaDigest = EFormUtils.computeDigest(schema, CanonicalizationMethod.INCLUSIVE, DigestAlgorithm.SHA256,
+                encoding);
+
+        return new Entry(new String(transformation, encoding), new String(schema, encoding), transformationDigest,
+                schemaDigest, loadedAt);
+    }
+
+    private Entry readFromDisk(String formUri) {
+        try {
+            var indexFile = directory.resolve(Digests.sha256Hex(formUri) + ".properties");
+            if (!Files.isRegularFile(indexFile))
+                return null;
+
+            var index = new Properties();
+            try (var reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+                index.load(reader);
+            }
+
+            var loadedAt = Long.parseLong(index.getProperty("loadedAt"));
+            if (!formUri.equals(index.getProperty("formUri")) || isExpired(loadedAt))
+                return null;
+
+            var transformation = readContent(index.getProperty("transformation"));
+            var schema = readContent(index.getProperty("schema"));
+            if (transformation == null || schema == null)
+                return null;
+
+            return createEntry(transformation, schema, loadedAt);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private byte[] readContent(String digest) throws IOException {
+        if (digest == null)
+            return null;
+
+        var file = directory.resolve(digest);
+        if (!Files.isRegularFile(file))
+            return null;
+
+        var content = Files.readAllBytes(file);
+        if (!digest.equals(Digests.sha256Hex(content)))
+            return null;
+
+        return content;
+    }
+
+    private void writeToDisk(String formUri, Resources resources, long loadedAt) {
+        try {
+            Files.createDirectories(directory);
+
+            var index = new Properties();
+            index.setProperty("formUri", formUri);
+            index.setProperty("loadedAt", Long.toString(loadedAt));
+            index.setProperty("transformation", writeContent(resources.transformation()));
+            index.setProperty("schema", writeContent(resources.schema()));
+
+            var indexFile = directory.resolve(Digests.sha256Hex(formUri) + ".properties");
+            var tmpFile = Files.createTempFile(directory, "index-", ".tmp");
+            try (var writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                index.store(writer, null);
+            }
+            Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // disk tier is best effort, resources are still cached in memory
+        }
+    }
+
+    private String writeContent(byte[] content) throws IOException {
+        var digest = Digests.sha256Hex(content);
+        if (readContent(digest) == null) {
+            var file = directory.resolve(digest);
+            var tmpFile = Files.createTempFile(directory, "content-", ".tmp");
+            Files.write(tmpFile, content);
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        return digest;
+    }
+}
@@ -1,10 +1,5 @@
 package digital.slovensko.autogram.core.eforms;
 
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-
-import javax.xml.crypto.dsig.CanonicalizationMethod;
-
 import digital.slovensko.autogram.core.errors.AutogramException;
 import digital.slovensko.autogram.core.errors.XMLValidationException;
 
@@ -12,7 +7,6 @@ import static digital.slovensko.autogram.core.eforms.EFormUtils.*;
 import static digital.slovensko.autogram.core.AutogramMimeType.*;
 
 import eu.europa.esig.dss.enumerations.ASiCContainerType;
-import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.SignaturePackaging;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
@@ -21,7 +15,6 @@ import org.w3c.dom.Node;
 
 public class EFormResources {
     private static final String SOURCE_URL = "https://data.gov.sk/doc/egov/eform/";
-    private static final Charset ENCODING = StandardCharsets.UTF_8;
 
     private final String url;
     private final String xsdDigest;
@@ -40,11 +33,14 @@ public class EFormResources {
         if (eformResources == null)
             return null;
 
-        var transformation = eformResources.getTransformation();
-        var schema = eformResources.getSchema();
-        if (transformation == null || schema == null)
+        var resources = EFormResourceCache.getInstance().get(eformResources.url, eformResources::loadResources);
+        if (resources == null)
             throw new XMLValidationException("Zlyhala príprava elektronického formulára", "Nepodarilo sa nájsť XSLT transformáciu alebo XSD schému");
 
+        eformResources.verifyDigests(resources);
+        var transformation = resources.transformation();
+        var schema = resources.schema();
+
         var identifier = eformResources.getIdentifier();
         var containerXmlns = "http://data.gov.sk/def/container/xmldatacontainer+xml/1.1";
         var container = ASiCContainerType.ASiC_E;
@@ -97,7 +93,19 @@ public class EFormResources {
         return "http://data.gov.sk/doc/eform/" + url;
     }
 
-    private String getTransformation() throws XMLValidationException {
+    private EFormResourceCache.Resources loadResources() {
+        return new EFormResourceCache.Resources(getTransformation(), getSchema());
+    }
+
+    private void verifyDigests(EFormResourceCache.Entry resources) throws XMLValidationException {
+        if (xsltDigest != null && !resources.transformationDigest().equals(xsltDigest))
+            throw new XMLValidationException("Zlyhala validácia XML Datacontainera", "Automaticky nájdená XSLT transformácia sa nezhoduje s odtlačkom v XML Datacontaineri");
+
+        if (xsdDigest != null && !resources.schemaDigest().equals(xsdDigest))
+            throw new XMLValidationException("Zlyhala validácia XML Datacontainera", "Automaticky nájdená XSD schéma sa nezhoduje s odtlačkom v XML Datacontaineri");
+    }
+
+    private byte[] getTransformation() {
         var manifest_xml = getResource(url + "/META-INF/manifest.xml");
         if (manifest_xml == null)
             return null;
@@ -126,27 +134,11 @@ public class EFormResources {
         if (fullPath == null || fullPath.length() == 0)
             return null;
 
-        var xsltString = getResource(url + "/" + fullPath);
-        if (xsltString == null)
-            return null;
-
-        var xsltDigest = computeDigest(xsltString, CanonicalizationMethod.INCLUSIVE, DigestAlgorithm.SHA256, ENCODING);
-        if (this.xsltDigest != null && !xsltDigest.equals(this.xsltDigest))
-            throw new XMLValidationException("Zlyhala validácia XML Datacontainera", "Automaticky nájdená XSLT transformácia sa nezhoduje s odtlačkom v XML Datacontaineri");
-
-        return new String(xsltString, ENCODING);
+        return getResource(url + "/" + fullPath);
     }
 
-    private String getSchema() throws XMLValidationException {
-        var xsdString = getResource(url + "/schema.xsd");
-        if (xsdString == null)
-            return null;
-
-        var xsdDigest = computeDigest(xsdString, CanonicalizationMethod.INCLUSIVE, DigestAlgorithm.SHA256, ENCODING);
-        if (this.xsdDigest != null && !xsdDigest.equals(this.xsdDigest))
-            throw new XMLValidationException("Zlyhala validácia XML Datacontainera", "Automaticky nájdená XSD schéma sa nezhoduje s odtlačkom v XML Datacontaineri");
-
-        return new String(xsdString, ENCODING);
+    private byte[] getSchema() {
+        return getResource(url + "/schema.xsd");
     }
 
 }
@@ -1,6 +1,5 @@
 package digital.slovensko.autogram.core.eforms;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
@@ -13,7 +12,6 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -25,6 +23,7 @@ import digital.slovensko.autogram.core.errors.XMLValidationException;
 import digital.slovensko.autogram.core.errors.TransformationException;
 import digital.slovensko.autogram.core.errors.TransformationParsingErrorException;
 import digital.slovensko.autogram.core.errors.UnrecognizedException;
+import digital.slovensko.autogram.util.TemplatesCache;
 import digital.slovensko.autogram.util.XMLUtils;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.DSSDocument;
@@ -40,6 +39,15 @@ import static digital.slovensko.autogram.core.AutogramMimeType.*;
 
 public abstract class EFormUtils {
     private static final Charset ENCODING = StandardCharsets.UTF_8;
+    private static final FileCacheDataLoader resourceLoader = createResourceLoader();
+
+    private static FileCacheDataLoader createResourceLoader() {
+        var offlineFileLoader = new FileCacheDataLoader();
+        offlineFileLoader.setCacheExpirationTime(21600000);  // 6 hours
+        offlineFileLoader.setDataLoader(new CommonsDataLoader());
+
+        return offlineFileLoader;
+    }
 
     public static String extractTransformationOutputMimeTypeString(String transformation)
             throws TransformationParsingErrorException {
@@ -122,13 +130,9 @@ public abstract class EFormUtils {
     }
 
     public static byte[] getResource(String url) {
-        var offlineFileLoader = new FileCacheDataLoader();
-        offlineFileLoader.setCacheExpirationTime(21600000);  // 6 hours
-        offlineFileLoader.setDataLoader(new CommonsDataLoader());
-
         DSSDocument xsltDoc;
         try {
-            xsltDoc = offlineFileLoader.getDocument(url);
+            xsltDoc = resourceLoader.getDocument(url);
         } catch (DSSException e) {
             return null;
         }
@@ -205,8 +209,7 @@ public abstract class EFormUtils {
                 xmlSource = new DOMSource(getEformXmlFromXdcDocument(documentToDisplay));
             }
 
-            var transformer = XMLUtils.getSecureTransformerFactory().newTransformer(new StreamSource(
-                new ByteArrayInputStream(transformation.getBytes(ENCODING))));
+            var transformer = TemplatesCache.getInstance().get(transformation).newTransformer();
 
             var outputProperties = new Properties();
             outputProperties.setProperty(OutputKeys.ENCODING, ENCODING.displayName());
@@ -1,6 +1,8 @@
 package digital.slovensko.autogram.core.eforms;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.io.StringReader;
@@ -15,9 +17,12 @@ import javax.xml.transform.OutputKeys;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
 
 import digital.slovensko.autogram.core.AutogramMimeType;
+import digital.slovensko.autogram.core.errors.UnrecognizedException;
 import digital.slovensko.autogram.core.errors.XMLValidationException;
+import digital.slovensko.autogram.util.SchemaCache;
 import digital.slovensko.autogram.util.XMLUtils;
 import digital.slovensko.autogram.core.errors.OriginalDocumentNotFoundException;
 
@@ -27,14 +32,23 @@ import eu.europa.esig.dss.model.DSSDocument;
 
 public abstract class XDCValidator {
     private static final Charset ENCODING = StandardCharsets.UTF_8;
+    private static final Schema xdcSchema = loadXdcSchema();
 
-    public static boolean isXDCContent(DSSDocument document) {
-        try {
-            var is = document.openStream();
-            var docString = new String(is.readAllBytes(), ENCODING);
-            var xdcSchema = EFormUtils.class.getResourceAsStream("xmldatacontainer.xsd");
+    private static Schema loadXdcSchema() {
+        try (var xdcSchema = EFormUtils.class.getResourceAsStream("xmldatacontainer.xsd")) {
+            return SchemaCache.getInstance().get(xdcSchema.readAllBytes());
+        } catch (IOException | SAXException e) {
+            throw new UnrecognizedException(e);
+        }
+    }
 
-            return validateXmlContentAgainstXsd(docString, new String(xdcSchema.readAllBytes(), ENCODING));
+    public static Schema getXdcSchema() {
+        return xdcSchema;
+    }
+
+    public static boolean isXDCContent(DSSDocument document) {
+        try (var is = document.openStream()) {
+            return validateXmlContentAgainstSchema(new InputStreamReader(is, ENCODING), xdcSchema);
 
         } catch (IOException | NullPointerException | XMLValidationException e) {
             return false;
@@ -77,9 +91,17 @@ public abstract class XDCValidator {
             return true;
 
         try {
-            var schema = XMLUtils.getSecureSchemaFactory().newSchema(new StreamSource(new StringReader(xsdSchema)));
+            return validateXmlContentAgainstSchema(new StringReader(xmlContent), SchemaCache.getInstance().get(xsdSchema));
+
+        } catch (SAXException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean validateXmlContentAgainstSchema(Reader xmlContent, Schema schema) {
+        try {
             var validator = schema.newValidator();
-            validator.validate(new StreamSource(new StringReader(xmlContent)));
+            validator.validate(new StreamSource(xmlContent));
 
             return true;
 
@@ -0,0 +1,11 @@
+package digital.slovensko.autogram.core.errors;
+
+public class ParallelismIsNotValidException extends AutogramException {
+    public ParallelismIsNotValidException() {
+        super("Nastala chyba", "Zadaný počet vlákien nie je platný", "Zadali ste počet vlákien, ktorý nie je kladné číslo");
+    }
+
+    public ParallelismIsNotValidException(String parallelism) {
+        super("Nastala chyba", "Zadaný počet vlákien nie je platný", "Zadali ste počet vlákien \"" + parallelism + "\", ktorý nie je kladné číslo");
+    }
+}
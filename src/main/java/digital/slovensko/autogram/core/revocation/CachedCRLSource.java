@@ -0,0 +1,65 @@
+package digital.slovensko.autogram.core.revocation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.x509.revocation.OnlineRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+
+/**
+ * CRLs are cached per distribution point, parsed once and shared by all certificates of the issuer.
+ */
+public class CachedCRLSource extends CachedRevocationSource<CRL, CRLValidity> implements CRLSource {
+    public CachedCRLSource(OnlineRevocationSource<CRL> onlineSource, int maxEntries, Path directory,
+            Duration maxStaleness) {
+        super(onlineSource, maxEntries, directory, maxStaleness);
+    }
+
+    @Override
+    public CRLToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        return (CRLToken) super.getRevocationToken(certificateToken, issuerCertificateToken);
+    }
+
+    @Override
+    protected List<String> initRevocationTokenKeys(CertificateToken certificateToken) {
+        return DSSRevocationUtils.getCRLRevocationTokenKeys(certificateToken);
+    }
+
+    @Override
+    protected String getRevocationTokenKey(CertificateToken certificateToken, String url) {
+        return DSSRevocationUtils.getCRLRevocationTokenKey(url);
+    }
+
+    @Override
+    protected CRLValidity toCachedValue(RevocationToken<CRL> token) {
+        return ((CRLToken) token).getCrlValidity();
+    }
+
+    @Override
+    protected RevocationToken<CRL> toToken(CRLValidity value, CertificateToken certificateToken,
+            CertificateToken issuerCertificateToken) {
+        return new CRLToken(certificateToken, value);
+    }
+
+    @Override
+    protected byte[] encode(CRLValidity value) {
+        return value.getDerEncoded();
+    }
+
+    @Override
+    protected CRLValidity decode(byte[] data, CertificateToken issuerCertificateToken) throws IOException {
+        var validity = CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(data), issuerCertificateToken);
+        validity.setIssuerToken(issuerCertificateToken);
+
+        return validity;
+    }
+}
@@ -0,0 +1,63 @@
+package digital.slovensko.autogram.core.revocation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.x509.revocation.OnlineRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+
+public class CachedOCSPSource extends CachedRevocationSource<OCSP, BasicOCSPResp> implements OCSPSource {
+    public CachedOCSPSource(OnlineRevocationSource<OCSP> onlineSource, int maxEntries, Path directory,
+            Duration maxStaleness) {
+        super(onlineSource, maxEntries, directory, maxStaleness);
+    }
+
+    @Override
+    public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        return (OCSPToken) super.getRevocationToken(certificateToken, issuerCertificateToken);
+    }
+
+    @Override
+    protected List<String> initRevocationTokenKeys(CertificateToken certificateToken) {
+        return DSSRevocationUtils.getOcspRevocationTokenKeys(certificateToken);
+    }
+
+    @Override
+    protected String getRevocationTokenKey(CertificateToken certificateToken, String url) {
+        return DSSRevocationUtils.getOcspRevocationKey(certificateToken, url);
+    }
+
+    @Override
+    protected BasicOCSPResp toCachedValue(RevocationToken<OCSP> token) {
+        return ((OCSPToken) token).getBasicOCSPResp();
+    }
+
+    @Override
+    protected RevocationToken<OCSP> toToken(BasicOCSPResp value, CertificateToken certificateToken,
+            CertificateToken issuerCertificateToken) {
+        var singleResponse = DSSRevocationUtils.getLatestSingleResponse(value, certificateToken, issuerCertificateToken);
+        if (singleResponse == null)
+            return null;
+
+        return new OCSPToken(value, singleResponse, certificateToken, issuerCertificateToken);
+    }
+
+    @Override
+    protected byte[] encode(BasicOCSPResp value) {
+        return DSSRevocationUtils.getEncodedFromBasicResp(value);
+    }
+
+    @Override
+    protected BasicOCSPResp decode(byte[] data, CertificateToken issuerCertificateToken) throws IOException {
+        return DSSRevocationUtils.loadOCSPFromBinaries(data);
+    }
+}
@@ -0,0 +1,210 @@
+package digital.slovensko.autogram.core.revocation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import digital.slovensko.autogram.util.Digests;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import eu.europa.esig.dss.spi.x509.revocation.OnlineRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RepositoryRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+
+/**
+ * Revocation source which answers from a bounded in-memory cache and an optional on-disk store before asking the
+ * online source. Whether cached data is still fresh is decided by DSS from its nextUpdate and thisUpdate, and data
+ * older than max staleness is never used. Data without nextUpdate, like most OCSP responses, is used only for a short
+ * while after its thisUpdate.
+ *
+ * @param <R> type of revocation data
+ * @param <E> parsed form of revocation data kept in the cache
+ */
+public abstract class CachedRevocationSource<R extends Revocation, E> extends RepositoryRevocationSource<R> {
+    public static final Duration WITHOUT_NEXT_UPDATE_MAX_AGE = Duration.ofMinutes(5);
+
+    private final transient Map<String, Entry<E>> entries;
+    private final transient Path directory;
+    private final transient LongAdder hits = new LongAdder();
+    private final transient LongAdder misses = new LongAdder();
+
+    private record Entry<E>(E value, String sourceUrl) {
+    }
+
+    /**
+     * @param directory directory of the on-disk store or null to keep revocation data in memory only
+     */
+    protected CachedRevocationSource(OnlineRevocationSource<R> onlineSource, int maxEntries, Path directory,
+            Duration maxStaleness) {
+        this.directory = directory;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<E>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        setProxySource(onlineSource);
+        setMaxStaleness(maxStaleness);
+        setRemoveExpired(true);
+    }
+
+    /**
+     * Cached data older than max staleness is requested again, even if its nextUpdate is later
+     */
+    public void setMaxStaleness(Duration maxStaleness) {
+        // DSS takes the delays in seconds
+        var withoutNextUpdate = WITHOUT_NEXT_UPDATE_MAX_AGE.compareTo(maxStaleness) < 0 ? WITHOUT_NEXT_UPDATE_MAX_AGE
+                : maxStaleness;
+        setDefaultNextUpdateDelay(withoutNextUpdate.toSeconds());
+        setMaxNextUpdateDelay(maxStaleness.toSeconds());
+    }
+
+    protected abstract E toCachedValue(RevocationToken<R> token);
+
+    protected abstract RevocationToken<R> toToken(E value, CertificateToken certificateToken,
+            CertificateToken issuerCertificateToken);
+
+    protected abstract byte[] encode(E value);
+
+    protected abstract E decode(byte[] data, CertificateToken issuerCertificateToken) throws IOException;
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public RevocationToken<R> getRevocationToken(CertificateToken certificateToken,
+            CertificateToken issuerCertificateToken, boolean forceRefresh) {
+        var token = super.getRevocationToken(certificateToken, issuerCertificateToken, forceRefresh);
+        if (token != null && token.getExternalOrigin() == RevocationOrigin.CACHED)
+            hits.increment();
+        else
+            misses.increment();
+
+        return token;
+    }
+
+    @Override
+    protected List<RevocationToken<R>> findRevocations(String key, CertificateToken certificateToken,
+            CertificateToken issuerCertificateToken) {
+        var entry = getEntry(key, issuerCertificateToken);
+        if (entry == null)
+            return Collections.emptyList();
+
+        var token = toToken(entry.value(), certificateToken, issuerCertificateToken);
+        if (token == null)
+            return Collections.emptyList();
+
+        token.setSourceURL(entry.sourceUrl());
+        token.setExternalOrigin(RevocationOrigin.CACHED);
+        return List.of(token);
+    }
+
+    @Override
+    protected void insertRevocation(String key, RevocationToken<R> token) {
+        var entry = new Entry<>(toCachedValue(token), token.getSourceURL());
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+
+        writeToDisk(key, entry);
+    }
+
+    @Override
+    protected void updateRevocation(String key, RevocationToken<R> token) {
+        insertRevocation(key, token);
+    }
+
+    @Override
+    protected void removeRevocation(String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+
+        if (directory == null)
+            return;
+
+        try {
+            Files.deleteIfExists(getFile(key));
+        } catch (IOException e) {
+            // stale file is ignored on read anyway
+        }
+    }
+
+    private Entry<E> getEntry(String key, CertificateToken issuerCertificateToken) {
+        synchronized (entries) {
+            var entry = entries.get(key);
+            if (entry != null)
+                return entry;
+        }
+
+        var entry = readFromDisk(key, issuerCertificateToken);
+        if (entry != null) {
+            synchronized (entries) {
+                entries.put(key, entry);
+            }
+        }
+
+        return entry;
+    }
+
+    private Entry<E> readFromDisk(String key, CertificateToken issuerCertificateToken) {
+        if (directory == null)
+            return null;
+
+        var file = getFile(key);
+        if (!Files.isRegularFile(file))
+            return null;
+
+        try (var stream = new DataInputStream(Files.newInputStream(file))) {
+            var sourceUrl = stream.readUTF();
+            var data = stream.readNBytes(stream.readInt());
+
+            return new Entry<>(decode(data, issuerCertificateToken), sourceUrl.isEmpty() ? null : sourceUrl);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Entry<E> entry) {
+        if (directory == null)
+            return;
+
+        try {
+            var bytes = new ByteArrayOutputStream();
+            try (var stream = new DataOutputStream(bytes)) {
+                var data = encode(entry.value());
+                stream.writeUTF(entry.sourceUrl() == null ? "" : entry.sourceUrl());
+                stream.writeInt(data.length);
+                stream.write(data);
+            }
+
+            Files.createDirectories(directory);
+            var tmpFile = Files.createTempFile(directory, "revocation-", ".tmp");
+            Files.write(tmpFile, bytes.toByteArray());
+            Files.move(tmpFile, getFile(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // disk tier is best effort, revocation data is still cached in memory
+        }
+    }
+
+    private Path getFile(String key) {
+        return directory.resolve(Digests.sha256Hex(key) + ".bin");
+    }
+}
@@ -7,6 +7,7 @@ import java.net.BindException;
 import java.net.InetSocketAddress;
 import java.nio.file.Paths;
 import java.security.KeyStore;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import javax.net.ssl.KeyManagerFactory;
@@ -18,11 +19,17 @@ import com.sun.net.httpserver.HttpsParameters;
 import com.sun.net.httpserver.HttpsServer;
 
 import digital.slovensko.autogram.core.Autogram;
+import digital.slovensko.autogram.core.ExecutorRegistry;
 import digital.slovensko.autogram.server.filters.AutogramCorsFilter;
 
 public class AutogramServer {
+    private static final int VALIDATION_THREADS = Runtime.getRuntime().availableProcessors();
+
     private final HttpServer server;
     private final Autogram autogram;
+    private final ExecutorService validationExecutor = ExecutorRegistry.getInstance()
+            .getExecutor(ExecutorRegistry.Lane.VALIDATION);
+    private final SignJobStore signJobs = new SignJobStore(64, Duration.ofMinutes(15));
 
     public AutogramServer(Autogram autogram, String hostname, int port, boolean isHttps, ExecutorService executorService) {
         this.autogram = autogram;
@@ -35,16 +42,28 @@ public class AutogramServer {
         server.createContext("/info", new InfoEndpoint()).getFilters()
                 .add(new AutogramCorsFilter("GET"));
 
+        // Metrics
+        server.createContext("/metrics", new MetricsEndpoint()).getFilters()
+                .add(new AutogramCorsFilter("GET"));
+
         // Documentation
         server.createContext("/docs", new DocumentationEndpoint());
 
         // Sign
-        server.createContext("/sign", new SignEndpoint(autogram)).getFilters()
+        server.createContext("/sign", new SignEndpoint(autogram, signJobs)).getFilters()
                 .add(new AutogramCorsFilter("POST"));
 
+        // Jobs
+        server.createContext("/jobs", new JobsEndpoint(signJobs)).getFilters()
+                .add(new AutogramCorsFilter(List.of("GET", "DELETE")));
+
         // Batch
         server.createContext("/batch", new BatchEndpoint(autogram)).getFilters()
-                .add(new AutogramCorsFilter(List.of("POST", "DELETE")));
+                .add(new AutogramCorsFilter(List.of("POST", "DELETE", "GET")));
+
+        // Validate
+        server.createContext("/validate", new ValidateEndpoint(validationExecutor, 4 * VALIDATION_THREADS)).getFilters()
+                .add(new AutogramCorsFilter("POST"));
 
         // Start server
         server.start();
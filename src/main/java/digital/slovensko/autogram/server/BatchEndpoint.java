@@ -13,9 +13,11 @@ import java.io.IOException;
 
 public class BatchEndpoint implements HttpHandler {
     private final Autogram autogram;
+    private final BatchEventsEndpoint events;
 
     public BatchEndpoint(Autogram autogram) {
         this.autogram = autogram;
+        this.events = new BatchEventsEndpoint(autogram);
     }
 
     @Override
@@ -38,6 +40,9 @@ public class BatchEndpoint implements HttpHandler {
                 } : new Object() {
                     public String status = "NOT_FINISHED";
                 }, exchange);
+            } else if (requestMethod.equalsIgnoreCase("GET")) {
+                // Progress of batch
+                events.handle(exchange);
             } else {
                 exchange.sendResponseHeaders(405, -1);
             }
@@ -0,0 +1,110 @@
+package digital.slovensko.autogram.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import digital.slovensko.autogram.core.Autogram;
+import digital.slovensko.autogram.core.errors.BatchInvalidIdException;
+import digital.slovensko.autogram.server.dto.BatchProgressResponse;
+import digital.slovensko.autogram.server.dto.ErrorResponse;
+
+/**
+ * Progress of a batch as Server-Sent Events, GET /batch/{batchId}/events. A progress event is sent at once and then
+ * whenever documents are processed or the batch changes its state, changes arriving faster than they are written are
+ * merged into one event. A batch which was not started, has ended or expired is reported as well, the stream ends
+ * after the event of a finished or ended batch.
+ */
+public class BatchEventsEndpoint implements HttpHandler {
+    private static final Gson gson = new Gson();
+    private static final Duration KEEP_ALIVE = Duration.ofSeconds(15);
+
+    private final Autogram autogram;
+
+    public BatchEventsEndpoint(Autogram autogram) {
+        this.autogram = autogram;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        var batchId = getBatchId(exchange);
+        if (batchId == null) {
+            EndpointUtils.respondWithError(ErrorResponse.buildFromException(new BatchInvalidIdException()), exchange);
+            return;
+        }
+
+        var batch = autogram.findBatch(batchId);
+        var changed = new Semaphore(0);
+        Runnable listener = changed::release;
+        batch.addProgressListener(listener);
+
+        try {
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, 0);
+
+            try (var body = exchange.getResponseBody()) {
+                var lastProcessed = -1;
+                String lastStatus = null;
+                while (true) {
+                    var progress = BatchProgressResponse.buildFromBatch(batchId, batch);
+                    if (progress.getProcessedDocumentsCount() != lastProcessed
+                            || !progress.getStatus().equals(lastStatus)) {
+                        writeEvent(body, progress);
+                        lastProcessed = progress.getProcessedDocumentsCount();
+                        lastStatus = progress.getStatus();
+                    }
+
+                    if (progress.isFinal())
+                        break;
+
+                    if (changed.tryAcquire(KEEP_ALIVE.toSeconds(), TimeUnit.SECONDS))
+                        changed.drainPermits();
+                    else
+                        writeComment(body, "keep-alive");
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+        } catch (IOException e) {
+            // client has gone away, nothing to respond to
+
+        } finally {
+            batch.removeProgressListener(listener);
+            exchange.close();
+        }
+    }
+
+    private static void writeEvent(OutputStream body, BatchProgressResponse progress) throws IOException {
+        var event = "id: " + progress.getProcessedDocumentsCount() + "\n"
+                + "event: progress\n"
+                + "data: " + gson.toJson(progress) + "\n\n";
+        body.write(event.getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private static void writeComment(OutputStream body, String comment) throws IOException {
+        body.write((": " + comment + "\n\n").getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    /**
+     * @return batch ID from /batch/{batchId}/events, or null if the path does not match
+     */
+    static String getBatchId(HttpExchange exchange) {
+        var parts = exchange.getRequestURI().getPath().split("/");
+        if (parts.length != 4 || !parts[1].equals("batch") || !parts[3].equals("events") || parts[2].isEmpty())
+            return null;
+
+        return parts[2];
+    }
+}
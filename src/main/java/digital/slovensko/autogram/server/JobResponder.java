@@ -0,0 +1,26 @@
+package digital.slovensko.autogram.server;
+
+import digital.slovensko.autogram.core.Responder;
+import digital.slovensko.autogram.core.SignedDocument;
+import digital.slovensko.autogram.core.errors.AutogramException;
+
+/**
+ * Keeps the result in the job store instead of writing it to the request, which was already answered
+ */
+public class JobResponder extends Responder {
+    private final SignJobStore.Job job;
+
+    public JobResponder(SignJobStore.Job job) {
+        this.job = job;
+    }
+
+    @Override
+    public void onDocumentSigned(SignedDocument signedDocument) {
+        job.onSigned(signedDocument);
+    }
+
+    @Override
+    public void onDocumentSignFailed(AutogramException error) {
+        job.onFailed(error);
+    }
+}
@@ -0,0 +1,123 @@
+package digital.slovensko.autogram.server;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import digital.slovensko.autogram.server.dto.ErrorResponse;
+import digital.slovensko.autogram.server.dto.SignJobResponse;
+import digital.slovensko.autogram.server.errors.JobNotFoundException;
+
+/**
+ * Results of signing jobs requested asynchronously. GET /jobs/{id} answers at once, or with ?wait=seconds holds the
+ * request until the job finishes or the time runs out. A signed document is dropped once it was sent, so it is not
+ * held in memory until the job expires. DELETE /jobs/{id} drops the result.
+ */
+public class JobsEndpoint implements HttpHandler {
+    private static final Gson gson = new Gson();
+    private static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+    private final SignJobStore jobs;
+
+    public JobsEndpoint(SignJobStore jobs) {
+        this.jobs = jobs;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            var id = getJobId(exchange);
+            if (exchange.getRequestMethod().equalsIgnoreCase("DELETE")) {
+                if (!jobs.remove(id))
+                    throw new JobNotFoundException(id);
+
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+                return;
+            }
+
+            var job = jobs.get(id);
+            if (job == null)
+                throw new JobNotFoundException(id);
+
+            var wait = getWait(exchange);
+            if (!wait.isZero())
+                job.await(wait);
+
+            switch (job.getStatus()) {
+                case PENDING -> respondPending(job, exchange);
+                case SIGNED -> {
+                    respondSigned(job, exchange);
+                    jobs.remove(id);
+                }
+                case FAILED -> EndpointUtils.respondWithError(ErrorResponse.buildFromException(job.getError()), exchange);
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            EndpointUtils.respondWithError(ErrorResponse.buildFromException(e), exchange);
+
+        } catch (Exception e) {
+            EndpointUtils.respondWithError(ErrorResponse.buildFromException(e), exchange);
+        }
+    }
+
+    /**
+     * Status is always pending, also when the job has finished since the caller checked it, the result is picked up
+     * by the next request
+     */
+    static void respondPending(SignJobStore.Job job, HttpExchange exchange) throws IOException {
+        var body = gson.toJson(new SignJobResponse(job.getId(), SignJobStore.Status.PENDING.name()));
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("Location", "/jobs/" + job.getId());
+        exchange.sendResponseHeaders(202, 0);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body.getBytes());
+        }
+    }
+
+    private static void respondSigned(SignJobStore.Job job, HttpExchange exchange) throws IOException {
+        var signedDocument = job.getSignedDocument();
+        var signer = signedDocument.getCertificate().getSubject().getPrincipal().toString();
+        var issuer = signedDocument.getCertificate().getIssuer().getPrincipal().toString();
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        try (var body = new BufferedOutputStream(exchange.getResponseBody(), 64 * 1024)) {
+            SignResponseWriter.write(body, signedDocument.getDocument(), signer, issuer);
+        }
+    }
+
+    private static String getJobId(HttpExchange exchange) {
+        var path = exchange.getRequestURI().getPath();
+        var id = path.substring(path.lastIndexOf('/') + 1);
+        if (id.isEmpty() || id.equals("jobs"))
+            throw new JobNotFoundException(id);
+
+        return id;
+    }
+
+    private static Duration getWait(HttpExchange exchange) {
+        var query = exchange.getRequestURI().getQuery();
+        if (query == null)
+            return Duration.ZERO;
+
+        for (var parameter : query.split("&")) {
+            if (!parameter.startsWith("wait="))
+                continue;
+
+            try {
+                var wait = Duration.ofSeconds(Math.max(0, Long.parseLong(parameter.substring("wait=".length()))));
+                return wait.compareTo(MAX_WAIT) > 0 ? MAX_WAIT : wait;
+            } catch (NumberFormatException e) {
+                return Duration.ZERO;
+            }
+        }
+
+        return Duration.ZERO;
+    }
+}
@@ -0,0 +1,19 @@
+package digital.slovensko.autogram.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import digital.slovensko.autogram.core.ExecutorRegistry;
+import digital.slovensko.autogram.core.SignatureValidator;
+import digital.slovensko.autogram.server.dto.MetricsResponse;
+
+import java.io.IOException;
+
+public class MetricsEndpoint implements HttpHandler {
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        var response = MetricsResponse.buildFromStats(ExecutorRegistry.getInstance().getStats(),
+                SignatureValidator.getInstance());
+        EndpointUtils.respondWith(response, exchange);
+    }
+}
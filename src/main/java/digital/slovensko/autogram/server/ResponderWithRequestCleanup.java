@@ -0,0 +1,32 @@
+package digital.slovensko.autogram.server;
+
+import digital.slovensko.autogram.core.Responder;
+import digital.slovensko.autogram.core.SignedDocument;
+import digital.slovensko.autogram.core.errors.AutogramException;
+import digital.slovensko.autogram.server.dto.SignRequestBody;
+
+public class ResponderWithRequestCleanup extends Responder {
+    private final Responder responder;
+    private final SignRequestBody body;
+
+    public ResponderWithRequestCleanup(Responder responder, SignRequestBody body) {
+        this.responder = responder;
+        this.body = body;
+    }
+
+    public void onDocumentSigned(SignedDocument signedDocument) {
+        try {
+            responder.onDocumentSigned(signedDocument);
+        } finally {
+            body.deleteTemporaryFiles();
+        }
+    }
+
+    public void onDocumentSignFailed(AutogramException error) {
+        try {
+            responder.onDocumentSignFailed(error);
+        } finally {
+            body.deleteTemporaryFiles();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package digital.slovensko.autogram.server;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import digital.slovensko.autogram.core.ExecutorRegistry;
+
+/**
+ * Executors for HTTP exchanges. A /sign request waits for the user the whole time the signing dialog is open, so the
+ * server should not run exchanges on a small fixed pool shared with other work.
+ */
+public class ServerExecutors {
+    public static final String VIRTUAL = "virtual";
+    public static final String CACHED = "cached";
+
+    private static final ThreadFactory threads = ExecutorRegistry.newThreadFactory(
+            ExecutorRegistry.Lane.HTTP.getThreadName());
+
+    /**
+     * Creates executor of the given kind, either virtual, cached or number of threads of a fixed pool
+     */
+    public static ExecutorService create(String kind) {
+        if (kind.equalsIgnoreCase(VIRTUAL))
+            return newVirtualThreadExecutor();
+
+        if (kind.equalsIgnoreCase(CACHED))
+            return Executors.newCachedThreadPool(threads);
+
+        return Executors.newFixedThreadPool(Integer.parseInt(kind), threads);
+    }
+
+    /**
+     * Virtual threads are available since Java 21 only, the application is built for Java 17, so they are looked up at
+     * runtime and a cached pool of platform threads is used on older runtimes
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(threads);
+        }
+    }
+}
@@ -6,10 +6,9 @@ import digital.slovensko.autogram.core.SignedDocument;
 import digital.slovensko.autogram.core.errors.AutogramException;
 import digital.slovensko.autogram.core.errors.ResponseNetworkErrorException;
 import digital.slovensko.autogram.server.dto.ErrorResponse;
-import digital.slovensko.autogram.server.dto.SignResponse;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.util.Base64;
 
 public class ServerResponder extends Responder {
     private final HttpExchange exchange;
@@ -24,8 +23,11 @@ public class ServerResponder extends Responder {
         var issuer = signedDocument.getCertificate().getIssuer().getPrincipal().toString();
 
         try {
-            var b64document = Base64.getEncoder().encodeToString(signedDocument.getDocument().openStream().readAllBytes());
-            EndpointUtils.respondWith(new SignResponse(b64document, signer, issuer), exchange);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (var body = new BufferedOutputStream(exchange.getResponseBody(), 64 * 1024)) {
+                SignResponseWriter.write(body, signedDocument.getDocument(), signer, issuer);
+            }
         } catch (IOException e) {
             throw new ResponseNetworkErrorException("Externá aplikácia nečakala na odpoveď", e);
         }
@@ -4,6 +4,7 @@ import com.google.gson.JsonSyntaxException;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import digital.slovensko.autogram.core.Autogram;
+import digital.slovensko.autogram.core.Responder;
 import digital.slovensko.autogram.core.ResponderInBatch;
 import digital.slovensko.autogram.core.SigningJob;
 import digital.slovensko.autogram.core.errors.AutogramException;
@@ -15,20 +16,29 @@ import java.io.IOException;
 
 public class SignEndpoint implements HttpHandler {
     private final Autogram autogram;
+    private final SignJobStore jobs;
 
-    public SignEndpoint(Autogram autogram) {
+    public SignEndpoint(Autogram autogram, SignJobStore jobs) {
         this.autogram = autogram;
+        this.jobs = jobs;
     }
 
     @Override
     public void handle(HttpExchange exchange) throws IOException {
+        SignRequestBody body = null;
+        SignJobStore.Job asyncJob = null;
         try {
-            var body = EndpointUtils.loadFromJsonExchange(exchange, SignRequestBody.class);
+            body = SignRequestBodyParser.parse(exchange.getRequestBody());
             body.validateDocument();
             body.validateSigningParameters();
 
-            var responder = body.getBatchId() == null ? new ServerResponder(exchange)
-                    : new ResponderInBatch(new ServerResponder(exchange), autogram.getBatch(body.getBatchId()));
+            if (isAsync(exchange))
+                asyncJob = jobs.create();
+
+            Responder responder = asyncJob != null ? new JobResponder(asyncJob) : new ServerResponder(exchange);
+            if (body.getBatchId() != null)
+                responder = new ResponderInBatch(responder, autogram.getBatch(body.getBatchId()));
+            responder = new ResponderWithRequestCleanup(responder, body);
             var job = SigningJob.buildFromRequest(body.getDocument(), body.getParameters(), responder);
 
             if (body.getBatchId() != null)
@@ -36,15 +46,49 @@ public class SignEndpoint implements HttpHandler {
             else
                 autogram.sign(job);
 
+            if (asyncJob == null)
+                return;
+
+            // the request is answered right away, the result is picked up from /jobs/{id}
+            try {
+                JobsEndpoint.respondPending(asyncJob, exchange);
+            } catch (IOException e) {
+                // signing goes on, the job expires unread
+            }
+
         } catch (JsonSyntaxException | IOException e) {
+            deleteTemporaryFiles(body);
+            removeJob(asyncJob);
             var response = ErrorResponse.buildFromException(new MalformedBodyException(e.getMessage(), e));
             EndpointUtils.respondWithError(response, exchange);
 
         } catch (AutogramException e) {
+            deleteTemporaryFiles(body);
+            removeJob(asyncJob);
             EndpointUtils.respondWithError(ErrorResponse.buildFromException(e), exchange);
 
         } catch (Exception e) {
+            deleteTemporaryFiles(body);
+            removeJob(asyncJob);
             EndpointUtils.respondWithError(ErrorResponse.buildFromException(e), exchange);
         }
     }
+
+    /**
+     * Asynchronous signing is requested by the Prefer header as defined by RFC 7240
+     */
+    private static boolean isAsync(HttpExchange exchange) {
+        var prefer = exchange.getRequestHeaders().getFirst("Prefer");
+        return prefer != null && prefer.toLowerCase().contains("respond-async");
+    }
+
+    private void removeJob(SignJobStore.Job job) {
+        if (job != null)
+            jobs.remove(job.getId());
+    }
+
+    private static void deleteTemporaryFiles(SignRequestBody body) {
+        if (body != null)
+            body.deleteTemporaryFiles();
+    }
 }
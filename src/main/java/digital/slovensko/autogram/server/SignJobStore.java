@@ -0,0 +1,131 @@
+package digital.slovensko.autogram.server;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import digital.slovensko.autogram.core.SignedDocument;
+import digital.slovensko.autogram.core.errors.AutogramException;
+import digital.slovensko.autogram.server.errors.TooManyJobsException;
+
+/**
+ * Signing jobs requested asynchronously, kept until their result is picked up. Finished jobs expire after max age and
+ * the oldest finished jobs are dropped when the store is full, pending jobs are never dropped, new jobs are rejected
+ * instead.
+ */
+public class SignJobStore {
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final int maxJobs;
+    private final long maxAge;
+
+    public enum Status {
+        PENDING, SIGNED, FAILED
+    }
+
+    public static class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final CompletableFuture<Job> completion = new CompletableFuture<>();
+        private volatile SignedDocument signedDocument;
+        private volatile AutogramException error;
+        private volatile long finishedAt;
+
+        public String getId() {
+            return id;
+        }
+
+        public Status getStatus() {
+            if (!completion.isDone())
+                return Status.PENDING;
+
+            return error == null ? Status.SIGNED : Status.FAILED;
+        }
+
+        public SignedDocument getSignedDocument() {
+            return signedDocument;
+        }
+
+        public AutogramException getError() {
+            return error;
+        }
+
+        void onSigned(SignedDocument signedDocument) {
+            this.signedDocument = signedDocument;
+            finish();
+        }
+
+        void onFailed(AutogramException error) {
+            this.error = error;
+            finish();
+        }
+
+        private void finish() {
+            finishedAt = System.currentTimeMillis();
+            completion.complete(this);
+        }
+
+        /**
+         * Waits at most the given time for the job to finish, used for long polling
+         */
+        public void await(Duration timeout) throws InterruptedException {
+            try {
+                completion.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // still pending, status is reported as it is
+            }
+        }
+
+        private boolean isExpired(long now, long maxAge) {
+            return completion.isDone() && now - finishedAt >= maxAge;
+        }
+    }
+
+    public SignJobStore(int maxJobs, Duration maxAge) {
+        this.maxJobs = maxJobs;
+        this.maxAge = maxAge.toMillis();
+    }
+
+    public synchronized Job create() {
+        removeExpired();
+        if (jobs.size() >= maxJobs)
+            jobs.values().stream()
+                    .filter(job -> job.getStatus() != Status.PENDING)
+                    .min(Comparator.comparingLong(job -> job.finishedAt))
+                    .ifPresent(job -> jobs.remove(job.getId()));
+
+        if (jobs.size() >= maxJobs)
+            throw new TooManyJobsException(maxJobs);
+
+        var job = new Job();
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    public Job get(String id) {
+        var job = jobs.get(id);
+        if (job != null && job.isExpired(System.currentTimeMillis(), maxAge)) {
+            jobs.remove(id);
+            return null;
+        }
+
+        return job;
+    }
+
+    public boolean remove(String id) {
+        return jobs.remove(id) != null;
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    private void removeExpired() {
+        var now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> job.isExpired(now, maxAge));
+    }
+}
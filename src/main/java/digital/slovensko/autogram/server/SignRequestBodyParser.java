@@ -0,0 +1,373 @@
+package digital.slovensko.autogram.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import digital.slovensko.autogram.server.dto.Document;
+import digital.slovensko.autogram.server.dto.ServerSigningParameters;
+import digital.slovensko.autogram.server.dto.SignRequestBody;
+import digital.slovensko.autogram.server.errors.EmptyBodyException;
+import digital.slovensko.autogram.server.errors.MalformedBodyException;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+
+/**
+ * Parses sign request body without holding the document content in memory. All fields are read token by token with
+ * JsonReader except the document content, which is decoded straight from the request into a temporary file.
+ */
+public class SignRequestBodyParser {
+    private static final Gson gson = new Gson();
+
+    private final BodyReader body;
+    private final JsonReader json;
+    private String payloadMimeType;
+    private boolean isContentDecoded;
+
+    private SignRequestBodyParser(BodyReader body) {
+        this.body = body;
+        this.json = new JsonReader(body);
+    }
+
+    public static SignRequestBody parse(InputStream stream) throws IOException {
+        var body = new BodyReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        if (body.isEmpty())
+            throw new EmptyBodyException("Empty body");
+
+        try {
+            return new SignRequestBodyParser(body).readSignRequestBody();
+        } catch (MalformedJsonException | EOFException | IllegalStateException e) {
+            throw new JsonSyntaxException(e.getMessage(), e);
+        }
+    }
+
+    private SignRequestBody readSignRequestBody() throws IOException {
+        Document document = null;
+        ServerSigningParameters parameters = null;
+        String batchId = null;
+
+        try {
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "document" -> {
+                        if (document != null)
+                            document.deleteContentFile();
+
+                        document = readDocument();
+                    }
+                    case "parameters" -> parameters = gson.fromJson(json, ServerSigningParameters.class);
+                    case "payloadMimeType" -> payloadMimeType = gson.fromJson(json, String.class);
+                    case "batchId" -> batchId = gson.fromJson(json, String.class);
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+
+            // base64 content which came before payloadMimeType
+            if (document != null && document.getContentFile() != null && !isContentDecoded && isBase64())
+                decodeInPlace(document.getContentFile());
+
+        } catch (IOException | RuntimeException e) {
+            if (document != null)
+                document.deleteContentFile();
+
+            throw e;
+        }
+
+        return new SignRequestBody(document, parameters, payloadMimeType, batchId);
+    }
+
+    private Document readDocument() throws IOException {
+        if (json.peek() == JsonToken.NULL) {
+            json.nextNull();
+            return null;
+        }
+
+        String filename = null;
+        Path contentFile = null;
+
+        try {
+            json.beginObject();
+            while (json.hasNext()) {
+                var name = json.nextName();
+                if (name.equals("content") && body.beginStringValue()) {
+                    if (contentFile != null)
+                        Files.deleteIfExists(contentFile);
+
+                    contentFile = Files.createTempFile("autogram-request-", ".tmp");
+                    readContent(contentFile);
+                    json.nextString();
+                } else if (name.equals("filename")) {
+                    filename = gson.fromJson(json, String.class);
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endObject();
+
+        } catch (IOException | RuntimeException e) {
+            if (contentFile != null)
+                Files.deleteIfExists(contentFile);
+
+            throw e;
+        }
+
+        return new Document(filename, contentFile);
+    }
+
+    private void readContent(Path contentFile) throws IOException {
+        isContentDecoded = payloadMimeType != null;
+        var content = body.readStringValue();
+
+        if (!isContentDecoded || !isBase64()) {
+            try (var out = Files.newBufferedWriter(contentFile, StandardCharsets.UTF_8)) {
+                content.transferTo(out);
+            }
+            return;
+        }
+
+        try (var in = Base64.getDecoder().wrap(new AsciiInputStream(content));
+             var out = Files.newOutputStream(contentFile)) {
+            in.transferTo(out);
+            // decoder stops at padding, anything after it up to the closing quote is invalid
+            if (content.read() != -1)
+                throw new IOException("Data after base64 padding");
+
+        } catch (IOException e) {
+            throw new MalformedBodyException("Base64 decoding failed", "Invalid document content");
+        }
+    }
+
+    private boolean isBase64() {
+        return payloadMimeType != null && SignRequestBody.isBase64(payloadMimeType);
+    }
+
+    /**
+     * Decoded data is shorter than encoded, so it is written over the same file behind the position being read
+     */
+    private static void decodeInPlace(Path file) {
+        try (var encoded = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+             var in = Base64.getDecoder().wrap(encoded);
+             var out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            var buffer = new byte[48 * 1024];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                var decoded = ByteBuffer.wrap(buffer, 0, n);
+                while (decoded.hasRemaining())
+                    out.write(decoded);
+            }
+            // decoder stops at padding, anything after it up to the end of the file is invalid
+            if (encoded.read() != -1)
+                throw new IOException("Data after base64 padding");
+
+            out.truncate(out.position());
+
+        } catch (IOException e) {
+            throw new MalformedBodyException("Base64 decoding failed", "Invalid document content");
+        }
+    }
+
+    /**
+     * Hands the body to JsonReader one character at a time, so JsonReader never buffers past the current token and
+     * the string value after a field name can be read right from the stream instead.
+     */
+    private static class BodyReader extends Reader {
+        private final Reader in;
+        private final char[] buffer = new char[64 * 1024];
+        private int position;
+        private int limit;
+        private String injected = "";
+        private int last = -1;
+
+        BodyReader(Reader in) {
+            this.in = in;
+        }
+
+        boolean isEmpty() throws IOException {
+            skipWhitespace();
+            return peek() == -1;
+        }
+
+        /**
+         * Called right after JsonReader has read a field name. Consumes the separator and the opening quote of a
+         * string value, JsonReader is given an empty string instead of the value once it is read. For other values
+         * returns false and JsonReader reads them as usual.
+         */
+        boolean beginStringValue() throws IOException {
+            if (last != '"' || !injected.isEmpty())
+                throw new IllegalStateException("JsonReader has read past the field name");
+
+            skipWhitespace();
+            if (next() != ':')
+                throw new JsonSyntaxException("Expected ':'");
+
+            skipWhitespace();
+            if (peek() != '"') {
+                injected = ":";
+                return false;
+            }
+
+            position++;
+            return true;
+        }
+
+        /**
+         * @return unescaped string value which ends at its closing quote
+         */
+        Reader readStringValue() {
+            return new Reader() {
+                private boolean isEnd;
+
+                @Override
+                public int read(char[] cbuf, int off, int len) throws IOException {
+                    if (isEnd)
+                        return -1;
+
+                    var n = 0;
+                    while (n < len) {
+                        var c = next();
+                        if (c == -1)
+                            throw new JsonSyntaxException("Unterminated string");
+
+                        if (c == '"') {
+                            isEnd = true;
+                            injected = ":\"\"";
+                            break;
+                        }
+
+                        cbuf[off + n++] = c == '\\' ? readEscaped() : (char) c;
+                    }
+
+                    return n == 0 && isEnd ? -1 : n;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        private char readEscaped() throws IOException {
+            var escaped = next();
+            return switch (escaped) {
+                case '"', '\\', '/' -> (char) escaped;
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                case 't' -> '\t';
+                case 'u' -> {
+                    var code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        var digit = Character.digit(next(), 16);
+                        if (digit == -1)
+                            throw new JsonSyntaxException("Invalid unicode escape");
+                        code = code * 16 + digit;
+                    }
+                    yield (char) code;
+                }
+                default -> throw new JsonSyntaxException("Invalid escape sequence");
+            };
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+
+            int c;
+            if (!injected.isEmpty()) {
+                c = injected.charAt(0);
+                injected = injected.substring(1);
+            } else {
+                c = next();
+            }
+
+            if (c == -1)
+                return -1;
+
+            last = c;
+            cbuf[off] = (char) c;
+            return 1;
+        }
+
+        private void skipWhitespace() throws IOException {
+            while (Character.isWhitespace(peek()))
+                position++;
+        }
+
+        private int peek() throws IOException {
+            if (position == limit) {
+                var n = in.read(buffer, 0, buffer.length);
+                if (n == -1)
+                    return -1;
+
+                position = 0;
+                limit = n;
+            }
+
+            return buffer[position];
+        }
+
+        private int next() throws IOException {
+            var c = peek();
+            if (c != -1)
+                position++;
+
+            return c;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Base64 characters of a string value as bytes for the decoder
+     */
+    private static class AsciiInputStream extends InputStream {
+        private final Reader in;
+        private final char[] chars = new char[8 * 1024];
+
+        AsciiInputStream(Reader in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0];
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+
+            var n = in.read(chars, 0, Math.min(len, chars.length));
+            for (int i = 0; i < n; i++) {
+                if (chars[i] > 0x7f)
+                    throw new IOException("Invalid base64 character");
+
+                b[off + i] = (byte) chars[i];
+            }
+
+            return n;
+        }
+    }
+}
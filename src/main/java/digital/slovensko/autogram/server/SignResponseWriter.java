@@ -0,0 +1,50 @@
+package digital.slovensko.autogram.server;
+
+import com.google.gson.Gson;
+import eu.europa.esig.dss.model.DSSDocument;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Writes the same JSON as serialized {@link digital.slovensko.autogram.server.dto.SignResponse}, but streams
+ * the signed document through base64 encoder instead of building the whole response in memory
+ */
+public class SignResponseWriter {
+    private static final Gson gson = new Gson();
+
+    public static void write(OutputStream out, DSSDocument signedDocument, String signedBy, String issuedBy)
+            throws IOException {
+        out.write("{\"content\":\"".getBytes(StandardCharsets.UTF_8));
+
+        try (var document = signedDocument.openStream();
+             var encoder = Base64.getEncoder().wrap(new NonClosingOutputStream(out))) {
+            document.transferTo(encoder);
+        }
+
+        var rest = "\",\"signedBy\":" + gson.toJson(signedBy) + ",\"issuedby\":" + gson.toJson(issuedBy) + "}";
+        out.write(rest.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Base64 encoder has to be closed to write padding, but the response body has to stay open
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
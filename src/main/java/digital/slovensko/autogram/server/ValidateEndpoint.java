@@ -0,0 +1,186 @@
+package digital.slovensko.autogram.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import digital.slovensko.autogram.core.SignatureValidator;
+import digital.slovensko.autogram.server.dto.ErrorResponse;
+import digital.slovensko.autogram.server.dto.ValidateRequestBody;
+import digital.slovensko.autogram.server.dto.ValidateResponse;
+import digital.slovensko.autogram.server.errors.MalformedBodyException;
+
+/**
+ * Validates signatures of one JSON document or of a stream of documents sent as NDJSON. Documents are validated on a
+ * dedicated pool, so validation never waits for signing, and results of a stream are written as soon as they are
+ * ready, so their order may differ from the order of the request.
+ */
+public class ValidateEndpoint implements HttpHandler {
+    private static final Gson gson = new Gson();
+
+    private final ExecutorService executor;
+    private final int maxDocumentsInProgress;
+
+    public ValidateEndpoint(ExecutorService executor, int maxDocumentsInProgress) {
+        this.executor = executor;
+        this.maxDocumentsInProgress = maxDocumentsInProgress;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equalsIgnoreCase("POST")) {
+            exchange.sendResponseHeaders(405, -1);
+            return;
+        }
+
+        try {
+            if (isNdjson(exchange))
+                validateStream(exchange);
+            else
+                validateDocument(exchange);
+
+        } catch (JsonSyntaxException e) {
+            var response = ErrorResponse.buildFromException(new MalformedBodyException(e.getMessage(), e));
+            EndpointUtils.respondWithError(response, exchange);
+
+        } catch (ExecutionException e) {
+            var cause = e.getCause() instanceof Exception exception ? exception : e;
+            EndpointUtils.respondWithError(ErrorResponse.buildFromException(cause), exchange);
+
+        } catch (Exception e) {
+            EndpointUtils.respondWithError(ErrorResponse.buildFromException(e), exchange);
+        }
+    }
+
+    private void validateDocument(HttpExchange exchange) throws Exception {
+        var body = EndpointUtils.loadFromJsonExchange(exchange, ValidateRequestBody.class);
+        body.validateDocument();
+
+        var response = executor.submit(() -> ValidateResponse.buildFromReports(null, body.getId(),
+                body.getFilename(), SignatureValidator.getInstance().validate(body.getDocument()))).get();
+
+        EndpointUtils.respondWith(response, exchange);
+    }
+
+    /**
+     * At most maxDocumentsInProgress documents are read ahead of written results, so a long stream is never held in
+     * memory as a whole
+     */
+    private void validateStream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+
+        var reader = new BufferedReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+        var writer = new ResultWriter(exchange.getResponseBody());
+        var inProgress = new Semaphore(maxDocumentsInProgress);
+        var index = 0;
+
+        try {
+            String line;
+            while (!writer.isFailed() && (line = reader.readLine()) != null) {
+                if (line.isBlank())
+                    continue;
+
+                inProgress.acquire();
+                var documentIndex = index++;
+                var documentLine = line;
+                try {
+                    executor.execute(() -> {
+                        try {
+                            writer.write(validateLine(documentIndex, documentLine));
+                        } finally {
+                            inProgress.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    inProgress.release();
+                    writer.write(ValidateResponse.buildFromError(documentIndex, null, null,
+                            ErrorResponse.buildFromException(e)));
+                }
+            }
+        } catch (IOException e) {
+            writer.write(ValidateResponse.buildFromError(index, null, null,
+                    ErrorResponse.buildFromException(new MalformedBodyException(e.getMessage(), e))));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+        } finally {
+            inProgress.acquireUninterruptibly(maxDocumentsInProgress);
+            writer.close();
+        }
+    }
+
+    private static ValidateResponse validateLine(int index, String line) {
+        ValidateRequestBody body = null;
+        try {
+            body = gson.fromJson(line, ValidateRequestBody.class);
+            if (body == null)
+                throw new MalformedBodyException("Empty document", "");
+
+            body.validateDocument();
+            var reports = SignatureValidator.getInstance().validate(body.getDocument());
+
+            return ValidateResponse.buildFromReports(index, body.getId(), body.getFilename(), reports);
+
+        } catch (JsonSyntaxException e) {
+            return ValidateResponse.buildFromError(index, null, null,
+                    ErrorResponse.buildFromException(new MalformedBodyException(e.getMessage(), e)));
+
+        } catch (Exception e) {
+            return ValidateResponse.buildFromError(index, body == null ? null : body.getId(),
+                    body == null ? null : body.getFilename(), ErrorResponse.buildFromException(e));
+        }
+    }
+
+    private static boolean isNdjson(HttpExchange exchange) {
+        var contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        return contentType != null && contentType.toLowerCase().contains("ndjson");
+    }
+
+    /**
+     * Writes one JSON line per document, results come from several validation threads
+     */
+    private static class ResultWriter {
+        private final OutputStream out;
+        private volatile boolean failed = false;
+
+        ResultWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        synchronized void write(ValidateResponse response) {
+            if (failed)
+                return;
+
+            try {
+                out.write((gson.toJson(response) + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+
+        boolean isFailed() {
+            return failed;
+        }
+
+        synchronized void close() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+    }
+}
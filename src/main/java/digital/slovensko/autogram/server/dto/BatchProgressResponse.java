@@ -0,0 +1,57 @@
+package digital.slovensko.autogram.server.dto;
+
+import digital.slovensko.autogram.core.Batch;
+
+public class BatchProgressResponse {
+    private final String batchId;
+    private final String status;
+    private final int totalNumberOfDocuments;
+    private final int processedDocumentsCount;
+    private final int successfulDocumentsCount;
+    private final int failedDocumentsCount;
+    private final long elapsedMillis;
+    private final double documentsPerSecond;
+
+    private BatchProgressResponse(String batchId, String status, int totalNumberOfDocuments,
+            int processedDocumentsCount, int successfulDocumentsCount, int failedDocumentsCount, long elapsedMillis) {
+        this.batchId = batchId;
+        this.status = status;
+        this.totalNumberOfDocuments = totalNumberOfDocuments;
+        this.processedDocumentsCount = processedDocumentsCount;
+        this.successfulDocumentsCount = successfulDocumentsCount;
+        this.failedDocumentsCount = failedDocumentsCount;
+        this.elapsedMillis = elapsedMillis;
+        this.documentsPerSecond = elapsedMillis == 0 ? 0 : processedDocumentsCount * 1000.0 / elapsedMillis;
+    }
+
+    public static BatchProgressResponse buildFromBatch(String batchId, Batch batch) {
+        var successful = batch.getSuccessfulDocumentsCount();
+        var failed = batch.getFailedDocumentsCount();
+        var total = batch.getTotalNumberOfDocuments();
+
+        String status;
+        if (successful + failed >= total)
+            status = "FINISHED";
+        else if (batch.isEnded())
+            status = "NOT_FINISHED";
+        else if (!batch.isStarted())
+            status = "NOT_STARTED";
+        else
+            status = "RUNNING";
+
+        return new BatchProgressResponse(batchId, status, total, successful + failed, successful, failed,
+                batch.getElapsedTime().toMillis());
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getProcessedDocumentsCount() {
+        return processedDocumentsCount;
+    }
+
+    public boolean isFinal() {
+        return !status.equals("NOT_STARTED") && !status.equals("RUNNING");
+    }
+}
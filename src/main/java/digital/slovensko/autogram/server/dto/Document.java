@@ -1,8 +1,16 @@
 package digital.slovensko.autogram.server.dto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 public class Document {
     private String filename;
     private String content;
+    /** Decoded content streamed to disk while parsing the request, used instead of content */
+    private transient Path contentFile;
 
     public Document(String content) {
         this.content = content;
@@ -13,6 +21,11 @@ public class Document {
         this.content = content;
     }
 
+    public Document(String filename, Path contentFile) {
+        this.filename = filename;
+        this.contentFile = contentFile;
+    }
+
     public String getFilename() {
         return filename;
     }
@@ -20,4 +33,23 @@ public class Document {
     public String getContent() {
         return content;
     }
+
+    public Path getContentFile() {
+        return contentFile;
+    }
+
+    public boolean hasContent() {
+        return content != null || contentFile != null;
+    }
+
+    public void deleteContentFile() {
+        if (contentFile == null)
+            return;
+
+        try {
+            Files.deleteIfExists(contentFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package digital.slovensko.autogram.server.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import digital.slovensko.autogram.core.ExecutorRegistry;
+import digital.slovensko.autogram.core.InstrumentedExecutorService;
+import digital.slovensko.autogram.core.SignatureValidator;
+
+public class MetricsResponse {
+    private final List<Executor> executors;
+    private final Double trustedListsStartupMillis;
+    private final Cache validationReportsCache;
+    private final Cache crlCache;
+    private final Cache ocspCache;
+    private final List<TrustedList> trustedLists;
+
+    public record Executor(String lane, String name, int queued, int active, long completed,
+                           double averageWaitMillis, double maxWaitMillis, double averageRunMillis) {
+    }
+
+    public record Cache(long hits, long misses) {
+    }
+
+    public record TrustedList(String country, String url, String outcome, double durationMillis, String finishedAt) {
+    }
+
+    private MetricsResponse(List<Executor> executors, Double trustedListsStartupMillis, Cache validationReportsCache,
+                            Cache crlCache, Cache ocspCache, List<TrustedList> trustedLists) {
+        this.executors = executors;
+        this.trustedListsStartupMillis = trustedListsStartupMillis;
+        this.validationReportsCache = validationReportsCache;
+        this.crlCache = crlCache;
+        this.ocspCache = ocspCache;
+        this.trustedLists = trustedLists;
+    }
+
+    public static MetricsResponse buildFromStats(Map<ExecutorRegistry.Lane, InstrumentedExecutorService.Stats> stats,
+                                                 SignatureValidator validator) {
+        var executors = new ArrayList<Executor>();
+        stats.forEach((lane, s) -> executors.add(new Executor(lane.name(), s.name(), s.queued(), s.active(),
+                s.completed(), s.averageWait().toNanos() / 1e6, s.maxWait().toNanos() / 1e6,
+                s.averageRun().toNanos() / 1e6)));
+
+        var trustedLists = new ArrayList<TrustedList>();
+        validator.getTrustedListRefreshes().forEach((country, d) -> trustedLists.add(new TrustedList(country, d.url(),
+                d.outcome().name(), d.duration().toNanos() / 1e6, d.finishedAt().toString())));
+
+        var startup = validator.getStartupDuration();
+        var reportsCache = validator.getReportsCache();
+        return new MetricsResponse(executors, startup == null ? null : startup.toNanos() / 1e6,
+                new Cache(reportsCache.getHits(), reportsCache.getMisses()),
+                new Cache(validator.getCrlSource().getHits(), validator.getCrlSource().getMisses()),
+                new Cache(validator.getOcspSource().getHits(), validator.getOcspSource().getMisses()), trustedLists);
+    }
+}
@@ -0,0 +1,11 @@
+package digital.slovensko.autogram.server.dto;
+
+public class SignJobResponse {
+    private final String jobId;
+    private final String status;
+
+    public SignJobResponse(String jobId, String status) {
+        this.jobId = jobId;
+        this.status = status;
+    }
+}
@@ -8,6 +8,8 @@ import digital.slovensko.autogram.core.SigningParameters;
 import digital.slovensko.autogram.server.errors.MalformedBodyException;
 import digital.slovensko.autogram.server.errors.RequestValidationException;
 import eu.europa.esig.dss.enumerations.MimeType;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 
 import static digital.slovensko.autogram.core.AutogramMimeType.*;
@@ -17,6 +19,8 @@ public class SignRequestBody {
     private final ServerSigningParameters parameters;
     private final String payloadMimeType;
     private final String batchId;
+    private transient DSSDocument decodedDocument;
+    private transient SigningParameters signingParameters;
 
     public SignRequestBody(Document document, ServerSigningParameters parameters, String payloadMimeType) {
         this(document, parameters, payloadMimeType, null);
@@ -37,17 +41,45 @@ public class SignRequestBody {
         if (document == null)
             throw new RequestValidationException("Document is required", "");
 
-        if (document.getContent() == null)
+        if (!document.hasContent())
             throw new RequestValidationException("Document.Content is required", "");
     }
 
-    public InMemoryDocument getDocument() {
+    /**
+     * Decodes the document on first call, the same instance is returned for the rest of the request
+     */
+    public DSSDocument getDocument() {
+        if (decodedDocument == null)
+            decodedDocument = document.getContentFile() != null ? getFileDocument() : getInMemoryDocument();
+
+        return decodedDocument;
+    }
+
+    private DSSDocument getInMemoryDocument() {
         var content = decodeDocumentContent(document.getContent(), isBase64());
         var filename = document.getFilename();
 
         return new InMemoryDocument(content, filename, getMimetype());
     }
 
+    /**
+     * Deletes temporary files of a streamed request, has to be called once the document is not needed
+     */
+    public void deleteTemporaryFiles() {
+        if (document == null)
+            return;
+
+        document.deleteContentFile();
+    }
+
+    private DSSDocument getFileDocument() {
+        var fileDocument = new FileDocument(document.getContentFile().toFile());
+        fileDocument.setName(document.getFilename());
+        fileDocument.setMimeType(getMimetype());
+
+        return fileDocument;
+    }
+
     public void validateSigningParameters() throws RequestValidationException, MalformedBodyException,
             TransformationParsingErrorException {
         if (parameters == null)
@@ -57,7 +89,10 @@ public class SignRequestBody {
     }
 
     public SigningParameters getParameters() {
-        return parameters.getSigningParameters(isBase64(), getDocument());
+        if (signingParameters == null)
+            signingParameters = parameters.getSigningParameters(isBase64(), getDocument());
+
+        return signingParameters;
     }
 
     public String getBatchId() {
@@ -69,6 +104,10 @@ public class SignRequestBody {
     }
 
     private boolean isBase64() {
+        return isBase64(payloadMimeType);
+    }
+
+    public static boolean isBase64(String payloadMimeType) {
         return payloadMimeType.contains("base64");
     }
 
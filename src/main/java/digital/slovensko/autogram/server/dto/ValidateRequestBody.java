@@ -0,0 +1,45 @@
+package digital.slovensko.autogram.server.dto;
+
+import java.util.Base64;
+
+import digital.slovensko.autogram.server.errors.MalformedBodyException;
+import digital.slovensko.autogram.server.errors.RequestValidationException;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+
+public class ValidateRequestBody {
+    private final String id;
+    private final Document document;
+
+    public ValidateRequestBody(String id, Document document) {
+        this.id = id;
+        this.document = document;
+    }
+
+    public void validateDocument() throws RequestValidationException {
+        if (document == null)
+            throw new RequestValidationException("Document is required", "");
+
+        if (document.getContent() == null)
+            throw new RequestValidationException("Document.Content is required", "");
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFilename() {
+        return document == null ? null : document.getFilename();
+    }
+
+    /**
+     * Content of the document is always base64 encoded, signed documents are binary
+     */
+    public DSSDocument getDocument() throws MalformedBodyException {
+        try {
+            return new InMemoryDocument(Base64.getDecoder().decode(document.getContent()), document.getFilename());
+        } catch (IllegalArgumentException e) {
+            throw new MalformedBodyException("Base64 decoding failed", "Invalid document content");
+        }
+    }
+}
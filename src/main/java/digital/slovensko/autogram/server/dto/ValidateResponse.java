@@ -0,0 +1,77 @@
+package digital.slovensko.autogram.server.dto;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import eu.europa.esig.dss.jaxb.object.Message;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+/**
+ * Simple report of one validated document, documents in a stream are matched by id or by their index
+ */
+public class ValidateResponse {
+    private final Integer index;
+    private final String id;
+    private final String filename;
+    private final List<Signature> signatures;
+    private final ErrorResponseBody error;
+
+    public record Signature(String id, String format, String indication, String subIndication, String qualification,
+            String signedBy, String signingTime, List<String> errors, List<String> warnings) {
+    }
+
+    private ValidateResponse(Integer index, String id, String filename, List<Signature> signatures,
+            ErrorResponseBody error) {
+        this.index = index;
+        this.id = id;
+        this.filename = filename;
+        this.signatures = signatures;
+        this.error = error;
+    }
+
+    public static ValidateResponse buildFromReports(Integer index, String id, String filename, Reports reports) {
+        var signatures = new ArrayList<Signature>();
+        if (reports != null) {
+            var report = reports.getSimpleReport();
+            for (var signatureId : report.getSignatureIdList())
+                signatures.add(new Signature(signatureId,
+                        toString(report.getSignatureFormat(signatureId)),
+                        toString(report.getIndication(signatureId)),
+                        toString(report.getSubIndication(signatureId)),
+                        toString(report.getSignatureQualification(signatureId)),
+                        report.getSignedBy(signatureId),
+                        toString(report.getSigningTime(signatureId)),
+                        toStrings(report.getAdESValidationErrors(signatureId)),
+                        toStrings(report.getAdESValidationWarnings(signatureId))));
+        }
+
+        return new ValidateResponse(index, id, filename, signatures, null);
+    }
+
+    public static ValidateResponse buildFromError(Integer index, String id, String filename, ErrorResponse error) {
+        return new ValidateResponse(index, id, filename, null, error.getBody());
+    }
+
+    public List<Signature> getSignatures() {
+        return signatures;
+    }
+
+    public ErrorResponseBody getError() {
+        return error;
+    }
+
+    private static String toString(Object value) {
+        if (value == null)
+            return null;
+
+        if (value instanceof Date date)
+            return date.toInstant().toString();
+
+        return value.toString();
+    }
+
+    private static List<String> toStrings(List<Message> messages) {
+        return messages.stream().map(Message::getValue).toList();
+    }
+}
@@ -0,0 +1,10 @@
+package digital.slovensko.autogram.server.errors;
+
+import digital.slovensko.autogram.core.errors.AutogramException;
+
+public class TooManyJobsException extends AutogramException {
+    public TooManyJobsException(int maxJobs) {
+        super("Too many jobs", "There are already " + maxJobs + " jobs waiting",
+                "Pick up or delete results of finished jobs and try again later.");
+    }
+}
@@ -37,7 +37,7 @@ public class AutogramCorsFilter extends Filter {
         exchange.getResponseHeaders().add("Access-Control-Allow-Methods",
                 String.join(",", methods));
         exchange.getResponseHeaders().add("Access-Control-Allow-Headers",
-                "Content-Type, Authorization");
+                "Content-Type, Authorization, Prefer");
 
         // Allow preflight requests
         if (exchange.getRequestMethod().equalsIgnoreCase("OPTIONS")) {
@@ -2,9 +2,12 @@ package digital.slovensko.autogram.ui;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import digital.slovensko.autogram.core.Autogram;
 import digital.slovensko.autogram.core.Batch;
@@ -19,9 +22,11 @@ import eu.europa.esig.dss.enumerations.SignatureLevel;
 public class BatchGuiFileResponder extends BatchResponder {
     private final Autogram autogram;
     private final List<File> list;
-    private final Map<File, File> targetFiles = new HashMap<>();
-    private final Map<File, AutogramException> errors = new HashMap<>();
-    private boolean uiNotifiedOnAllFilesSigned = false;
+    // written from signing threads, null values mark files not signed yet or without error
+    private final Map<File, File> targetFiles = Collections.synchronizedMap(new HashMap<>());
+    private final Map<File, AutogramException> errors = Collections.synchronizedMap(new HashMap<>());
+    private final AtomicInteger recordedFilesCount = new AtomicInteger();
+    private final AtomicBoolean uiNotifiedOnAllFilesSigned = new AtomicBoolean(false);
     private final TargetPath targetPath;
     private final boolean checkPDFACompliance;
     private final SignatureLevel pDFSignatureLevel;
@@ -51,11 +56,13 @@ public class BatchGuiFileResponder extends BatchResponder {
                 errors.put(file, null);
                 var responder = new ResponderInBatch(new SaveFileFromBatchResponder(file, targetPath, (File targetFile) -> {
                     targetFiles.put(file, targetFile);
+                    recordedFilesCount.incrementAndGet();
                     Logging.log(batch.getProcessedDocumentsCount() + " / " + batch.getTotalNumberOfDocuments() + " signed " + file.toString());
                     onAllFilesSigned(batch);
                 }, (AutogramException error) -> {
                     Logging.log("Signing failed " + file.toString() + " all:" + batch.isAllProcessed());
                     errors.put(file, error);
+                    recordedFilesCount.incrementAndGet();
                     onAllFilesSigned(batch);
                 }), batch);
 
@@ -68,12 +75,13 @@ public class BatchGuiFileResponder extends BatchResponder {
         }
     }
 
-    private void onAllFilesSigned(Batch batch) { // synchronized
-        Logging.log("onAllFilesSigned " + batch.isAllProcessed() + " " + uiNotifiedOnAllFilesSigned);
-        if (batch.isAllProcessed() && !uiNotifiedOnAllFilesSigned) {
-            uiNotifiedOnAllFilesSigned = true;
-            Logging.log(errors.values().stream().map(e -> e == null ? "" : e.toString()).toList());
-            var result = new BatchUiResult(targetPath, targetFiles, errors);
+    private void onAllFilesSigned(Batch batch) {
+        Logging.log("onAllFilesSigned " + batch.isAllProcessed() + " " + uiNotifiedOnAllFilesSigned.get());
+        // the batch counts a document as processed before its file is recorded here, so recorded files are counted
+        var allRecorded = recordedFilesCount.get() >= batch.getTotalNumberOfDocuments();
+        if (allRecorded && uiNotifiedOnAllFilesSigned.compareAndSet(false, true)) {
+            var result = new BatchUiResult(targetPath, new HashMap<>(targetFiles), new HashMap<>(errors));
+            Logging.log(result.getErrorsMap().values().stream().map(e -> e == null ? "" : e.toString()).toList());
             autogram.onDocumentBatchSaved(result);
         }
     }
@@ -8,6 +8,8 @@ import digital.slovensko.autogram.core.errors.AutogramException;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class SaveFileResponder extends Responder {
     private final File file;
@@ -25,12 +27,43 @@ public class SaveFileResponder extends Responder {
     }
 
     public void onDocumentSigned(SignedDocument signedDocument) {
+        Path targetFile;
+        var isReserved = false;
+        try {
+            synchronized (targetPathBuilder) { // unique name generation checks the filesystem
+                targetFile = targetPathBuilder.getSaveFilePath(file.toPath());
+                // empty file reserves the name for other documents, it is written outside of the lock
+                if (!Files.exists(targetFile)) {
+                    Files.createFile(targetFile);
+                    isReserved = true;
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
         try {
-            var targetFile = targetPathBuilder.getSaveFilePath(file.toPath());
             signedDocument.getDocument().save(targetFile.toString());
-            autogram.onDocumentSaved(targetFile.toFile());
         } catch (IOException e) {
+            if (isReserved)
+                deleteReservedFile(targetFile);
+
             throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            if (isReserved)
+                deleteReservedFile(targetFile);
+
+            throw e;
+        }
+
+        autogram.onDocumentSaved(targetFile.toFile());
+    }
+
+    private static void deleteReservedFile(Path targetFile) {
+        try {
+            Files.deleteIfExists(targetFile);
+        } catch (IOException e) {
+            // empty file is left behind
         }
     }
 
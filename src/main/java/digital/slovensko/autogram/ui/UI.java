@@ -16,7 +16,7 @@ public interface UI {
 
     void startBatch(Batch batch, Autogram autogram, Consumer<SigningKey> callback);
 
-    void signBatch(SigningJob job, SigningKey key);
+    void signBatch(SigningJob job, SigningKey key, SigningPipeline pipeline);
 
     void cancelBatch(Batch batch);
 
@@ -42,6 +42,20 @@ public interface UI {
 
     void onWorkThreadDo(Runnable callback);
 
+    /**
+     * Work of the given kind, UIs with separate pools run it on the pool of the lane
+     */
+    default void onWorkThreadDo(ExecutorRegistry.Lane lane, Runnable callback) {
+        onWorkThreadDo(callback);
+    }
+
+    /**
+     * Work of the given kind for the job, UIs may drop it if the job is cancelled before the work starts
+     */
+    default void onWorkThreadDo(ExecutorRegistry.Lane lane, SigningJob job, Runnable callback) {
+        onWorkThreadDo(lane, callback);
+    }
+
     void onUIThreadDo(Runnable callback);
 
     void onUpdateAvailable();
@@ -10,8 +10,15 @@ import digital.slovensko.autogram.core.errors.SourceDoesNotExistException;
 import digital.slovensko.autogram.ui.SaveFileResponder;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.cli.CommandLine;
 
@@ -35,17 +42,18 @@ public class CliApp {
 
             var source = params.getSource();
             var sourceList = source.isDirectory() ? source.listFiles() : new File[] { source };
-            var jobs = Arrays.stream(sourceList).filter(f -> f.isFile())
-                    .map(f -> SigningJob.buildFromFile(f, new SaveFileResponder(f, autogram, targetPathBuilder),
-                            params.shouldCheckPDFACompliance(), params.pdfSignatureLevel(), params.shouldSignAsEn319132()))
-                    .toList();
-            if (params.shouldCheckPDFACompliance()) {
-                jobs.forEach(job -> {
-                    System.out.println("Checking PDF/A file compatibility for " + job.getDocument().getName());
-                    autogram.checkPDFACompliance(job);
-                });
+            var files = Arrays.stream(sourceList).filter(f -> f.isFile()).toList();
+
+            if (params.getParallelism() > 1 && files.size() > 1) {
+                signInParallel(ui, autogram, params, targetPathBuilder, files);
+                return;
             }
 
+            var jobs = files.stream()
+                    .map(f -> buildJob(f, autogram, params, targetPathBuilder))
+                    .toList();
+            checkPDFACompliance(autogram, params, jobs);
+
             ui.setJobsCount(jobs.size());
 
             jobs.forEach(autogram::sign);
@@ -54,4 +62,77 @@ public class CliApp {
             ui.showError(e);
         }
     }
+
+    private static void signInParallel(CliUI ui, Autogram autogram, CliParameters params, TargetPath targetPathBuilder,
+            List<File> files) {
+        var executor = Executors.newFixedThreadPool(Math.min(params.getParallelism(), files.size()));
+        try {
+            var jobs = buildJobsInParallel(executor, autogram, params, targetPathBuilder, files);
+            checkPDFACompliance(autogram, params, jobs);
+
+            ui.setJobsCount(jobs.size());
+
+            // key has to be picked before going parallel, picking may prompt for a driver or a PIN
+            autogram.pickSigningKeyAndThen(ui::setActiveKey);
+            if (ui.activeKey == null)
+                return;
+
+            // jobs are prepared and saved on the pool, token access itself is serialized in SigningKey
+            ui.setWorkExecutor(executor);
+            jobs.forEach(autogram::sign);
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+
+        ui.rethrowWorkFailure();
+    }
+
+    private static List<SigningJob> buildJobsInParallel(ExecutorService executor, Autogram autogram,
+            CliParameters params, TargetPath targetPathBuilder, List<File> files) {
+        var futures = new ArrayList<Future<SigningJob>>();
+        for (var f : files)
+            futures.add(executor.submit(() -> buildJob(f, autogram, params, targetPathBuilder)));
+
+        var jobs = new ArrayList<SigningJob>();
+        try {
+            for (var future : futures)
+                jobs.add(future.get());
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        return jobs;
+    }
+
+    private static SigningJob buildJob(File f, Autogram autogram, CliParameters params, TargetPath targetPathBuilder) {
+        return SigningJob.buildFromFile(f, new SaveFileResponder(f, autogram, targetPathBuilder),
+                params.shouldCheckPDFACompliance(), params.pdfSignatureLevel(), params.shouldSignAsEn319132());
+    }
+
+    private static void checkPDFACompliance(Autogram autogram, CliParameters params, List<SigningJob> jobs) {
+        if (!params.shouldCheckPDFACompliance())
+            return;
+
+        jobs.forEach(job -> {
+            System.out.println("Checking PDF/A file compatibility for " + job.getDocument().getName());
+            autogram.checkPDFACompliance(job);
+        });
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -4,6 +4,9 @@ import static digital.slovensko.autogram.util.DSSUtils.parseCN;
 
 import java.io.File;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -12,6 +15,7 @@ import digital.slovensko.autogram.core.Autogram;
 import digital.slovensko.autogram.core.Batch;
 import digital.slovensko.autogram.core.SigningJob;
 import digital.slovensko.autogram.core.SigningKey;
+import digital.slovensko.autogram.core.SigningPipeline;
 import digital.slovensko.autogram.core.Updater;
 import digital.slovensko.autogram.core.ValidationReports;
 import digital.slovensko.autogram.core.errors.AutogramException;
@@ -23,6 +27,7 @@ import digital.slovensko.autogram.core.errors.PDFAComplianceException;
 import digital.slovensko.autogram.core.errors.PDFSignatureLevelIsNotValidException;
 import digital.slovensko.autogram.core.errors.PINIncorrectException;
 import digital.slovensko.autogram.core.errors.PINLockedException;
+import digital.slovensko.autogram.core.errors.ParallelismIsNotValidException;
 import digital.slovensko.autogram.core.errors.SigningCanceledByUserException;
 import digital.slovensko.autogram.core.errors.SigningWithExpiredCertificateException;
 import digital.slovensko.autogram.core.errors.SlotIdIsNotANumberException;
@@ -43,9 +48,11 @@ import digital.slovensko.autogram.ui.gui.IgnorableException;
 import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
 
 public class CliUI implements UI {
-    SigningKey activeKey;
-    int nJobsSigned = 1;
+    volatile SigningKey activeKey;
+    final AtomicInteger nJobsSigned = new AtomicInteger(1);
     int nJobsTotal = 0;
+    ExecutorService workExecutor;
+    final Queue<RuntimeException> workFailures = new ConcurrentLinkedQueue<>();
 
     @Override
     public void startSigning(SigningJob job, Autogram autogram) {
@@ -61,7 +68,7 @@ public class CliUI implements UI {
     }
 
     private void sign(SigningJob job, Autogram autogram) {
-        System.out.println("Starting signing file \"%s\" [%d/%d]".formatted(job.getDocument().getName(), nJobsSigned++,
+        System.out.println("Starting signing file \"%s\" [%d/%d]".formatted(job.getDocument().getName(), nJobsSigned.getAndIncrement(),
                 nJobsTotal));
         autogram.sign(job, activeKey);
     }
@@ -70,13 +77,21 @@ public class CliUI implements UI {
         this.nJobsTotal = nJobsTotal;
     }
 
+    public void setActiveKey(SigningKey key) {
+        this.activeKey = key;
+    }
+
+    public void setWorkExecutor(ExecutorService workExecutor) {
+        this.workExecutor = workExecutor;
+    }
+
     @Override
     public void startBatch(Batch batch, Autogram autogram, Consumer<SigningKey> callback) {
         // TODO Auto-generated method stub
     }
 
     @Override
-    public void signBatch(SigningJob job, SigningKey key) {
+    public void signBatch(SigningJob job, SigningKey key, SigningPipeline pipeline) {
         // TODO Auto-generated method stub
     }
 
@@ -146,7 +161,35 @@ public class CliUI implements UI {
 
     @Override
     public void onWorkThreadDo(Runnable callback) {
-        callback.run(); // no threads
+        if (workExecutor == null) {
+            callback.run(); // no threads
+            return;
+        }
+
+        workExecutor.execute(() -> {
+            // the run stops at the first failure as it does without threads, work not started yet is skipped
+            if (!workFailures.isEmpty())
+                return;
+
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                workFailures.add(e);
+            }
+        });
+    }
+
+    /**
+     * Fails the run with the first failure of the work executor, has to be called once the executor has drained
+     */
+    public void rethrowWorkFailure() {
+        var failure = workFailures.poll();
+        if (failure == null)
+            return;
+
+        workFailures.forEach(failure::addSuppressed);
+        workFailures.clear();
+        throw failure;
     }
 
     @Override
@@ -275,6 +318,8 @@ public class CliUI implements UI {
             errMessage = "Slot ID is not a number";
         } else if (e instanceof PDFSignatureLevelIsNotValidException) {
             errMessage = "PDF signature level is not valid";
+        } else if (e instanceof ParallelismIsNotValidException) {
+            errMessage = "Parallelism is not a positive number";
         } else {
             errMessage = "Unknown error occurred";
             e.printStackTrace();
@@ -114,8 +114,7 @@ public class BatchDialogController implements SuppressedFocusController {
     }
 
     public void onCancelBatchButtonPressed(ActionEvent event) {
-        batch.end();
-        close();
+        gui.cancelBatch(batch);
     }
 
     public void refreshSigningKey() {
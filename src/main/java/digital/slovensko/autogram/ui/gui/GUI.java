@@ -1,6 +1,8 @@
 package digital.slovensko.autogram.ui.gui;
 
 import java.io.File;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -22,7 +24,6 @@ import digital.slovensko.autogram.drivers.TokenDriver;
 import digital.slovensko.autogram.ui.BatchUiResult;
 import digital.slovensko.autogram.ui.UI;
 import digital.slovensko.autogram.util.Logging;
-import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
 import javafx.application.HostServices;
 import javafx.application.Platform;
@@ -36,14 +37,16 @@ import javafx.stage.Window;
 
 public class GUI implements UI {
     private final Map<SigningJob, SigningDialogController> jobControllers = new WeakHashMap<>();
+    private final Map<ExecutorRegistry.Lane, WorkQueue> workQueues = new EnumMap<>(ExecutorRegistry.Lane.class);
     private SigningKey activeKey;
     private boolean driverWasAlreadySet = false;
     private final HostServices hostServices;
     private final UserSettings userSettings;
-    private BatchDialogController batchController;
+    private final Map<Batch, BatchDialogController> batchControllers = new HashMap<>();
     private static final boolean DEBUG = false;
     private static Logger logger = LoggerFactory.getLogger(GUI.class);
     private int nWindows = 0;
+    private static final int MAX_PENDING_TASKS = 256;
 
     public GUI(HostServices hostServices, UserSettings userSettings) {
         this.hostServices = hostServices;
@@ -57,7 +60,8 @@ public class GUI implements UI {
 
     @Override
     public void startBatch(Batch batch, Autogram autogram, Consumer<SigningKey> callback) {
-        batchController = new BatchDialogController(batch, callback, autogram, this);
+        var batchController = new BatchDialogController(batch, callback, autogram, this);
+        batchControllers.put(batch, batchController);
         var root = GUIUtils.loadFXML(batchController, "batch-dialog.fxml");
 
         var stage = new Stage();
@@ -73,36 +77,47 @@ public class GUI implements UI {
 
     @Override
     public void cancelBatch(Batch batch) {
-        batchController.close();
+        var batchController = batchControllers.remove(batch);
+        if (batchController != null)
+            batchController.close();
         batch.end();
+        closeKeyIfUnused(batch.getSigningKey());
         refreshKeyOnAllJobs();
         enableSigningOnAllJobs();
     }
 
     @Override
-    public void signBatch(SigningJob job, SigningKey key) {
+    public void signBatch(SigningJob job, SigningKey key, SigningPipeline signingPipeline) {
         assertOnWorkThread();
-        try {
-            job.signWithKeyAndRespond(key);
-            Logging.log("GUI: Signing batch job: " + job.hashCode() + " file " + job.getDocument().getName());
-        } catch (AutogramException e) {
-            job.onDocumentSignFailed(e);
-        } catch (DSSException e) {
-            job.onDocumentSignFailed(AutogramException.createFromDSSException(e));
-        } catch (Exception e) {
-            AutogramException autogramException = new AutogramException("Document signing has failed", "", "", e);
-            job.onDocumentSignFailed(autogramException);
-        }
-        onUIThreadDo(() -> {
-            updateBatch();
+        Logging.log("GUI: Signing batch job: " + job.hashCode() + " file " + job.getDocument().getName());
+        signingPipeline.submit(job, key).whenComplete((result, e) -> {
+            onUIThreadDo(() -> {
+                updateBatch();
+            });
         });
     }
 
     private void updateBatch() {
-        if (batchController == null)
-            return;
         assertOnUIThread();
-        batchController.update();
+        batchControllers.values().forEach(BatchDialogController::update);
+
+        var ended = batchControllers.keySet().stream().filter(Batch::isEnded).toList();
+        ended.forEach(batchControllers::remove);
+        ended.forEach(batch -> closeKeyIfUnused(batch.getSigningKey()));
+    }
+
+    /**
+     * Every batch signs with the key it was started with, a key is closed only when neither the signing dialogs nor
+     * any running batch use it anymore
+     */
+    private void closeKeyIfUnused(SigningKey key) {
+        if (key == null || key == activeKey)
+            return;
+
+        var usedByBatch = batchControllers.keySet().stream()
+                .anyMatch(batch -> !batch.isEnded() && batch.getSigningKey() == key);
+        if (!usedByBatch)
+            key.close();
     }
 
     @Override
@@ -207,15 +222,12 @@ public class GUI implements UI {
 
     public void refreshKeyOnAllJobs() {
         jobControllers.values().forEach(SigningDialogController::refreshSigningKey);
-        if (batchController != null) {
-            batchController.refreshSigningKey();
-        }
+        batchControllers.values().forEach(BatchDialogController::refreshSigningKey);
     }
 
     public void enableSigningOnAllJobs() {
         jobControllers.values().forEach(SigningDialogController::enableSigning);
-        if (batchController != null)
-            batchController.enableSigning();
+        batchControllers.values().forEach(BatchDialogController::enableSigning);
     }
 
     @Override
@@ -283,13 +295,13 @@ public class GUI implements UI {
     @Override
     public void onSignatureValidationCompleted(ValidationReports reports) {
         var controller = jobControllers.get(reports.getSigningJob());
-        controller.onSignatureValidationCompleted(reports.getReports());
+        controller.onSignatureValidationCompleted(reports);
     }
 
     @Override
     public void onSignatureCheckCompleted(ValidationReports reports) {
         var controller = jobControllers.get(reports.getSigningJob());
-        controller.onSignatureCheckCompleted(reports.haveSignatures() ? reports.getReports() : null);
+        controller.onSignatureCheckCompleted(reports.haveSignatures() ? reports.getSummary() : null);
     }
 
     public void showVisualization(Visualization visualization, Autogram autogram) {
@@ -313,8 +325,8 @@ public class GUI implements UI {
         GUIUtils.hackToForceRelayout(stage);
         setUserFriendlyPositionAndLimits(stage);
 
-        onWorkThreadDo(()
-        -> autogram.checkAndValidateSignatures(visualization.getJob()));
+        onWorkThreadDo(ExecutorRegistry.Lane.VALIDATION, visualization.getJob(),
+                () -> autogram.checkAndValidateSignatures(visualization.getJob()));
     }
 
     @Override
@@ -335,8 +347,7 @@ public class GUI implements UI {
 
     private void disableKeyPicking() {
         jobControllers.values().forEach(SigningDialogController::disableKeyPicking);
-        if (batchController != null)
-            batchController.disableKeyPicking();
+        batchControllers.values().forEach(BatchDialogController::disableKeyPicking);
     }
 
     @Override
@@ -356,6 +367,7 @@ public class GUI implements UI {
 
     @Override
     public void onSigningFailed(AutogramException e, SigningJob job) {
+        cancelPendingTasks(job);
         var controller = jobControllers.get(job);
         controller.close();
         jobControllers.remove(job);
@@ -412,12 +424,40 @@ public class GUI implements UI {
     @Override
     public void onWorkThreadDo(Runnable callback) {
         if (Platform.isFxApplicationThread()) {
-            new Thread(callback).start();
+            getWorkQueue(ExecutorRegistry.Lane.WORK).submit(null, callback, false);
         } else {
             callback.run();
         }
     }
 
+    @Override
+    public void onWorkThreadDo(ExecutorRegistry.Lane lane, Runnable callback) {
+        onWorkThreadDo(lane, null, callback);
+    }
+
+    @Override
+    public void onWorkThreadDo(ExecutorRegistry.Lane lane, SigningJob job, Runnable callback) {
+        getWorkQueue(lane).submit(job, callback, !Platform.isFxApplicationThread());
+    }
+
+    private synchronized WorkQueue getWorkQueue(ExecutorRegistry.Lane lane) {
+        return workQueues.computeIfAbsent(lane, l -> new WorkQueue(
+                command -> ExecutorRegistry.getInstance().getExecutor(l).execute(command), MAX_PENDING_TASKS));
+    }
+
+    /**
+     * Number of tasks started from the UI which have not finished yet
+     */
+    public synchronized int getPendingTasksCount() {
+        return workQueues.values().stream().mapToInt(WorkQueue::getPendingCount).sum();
+    }
+
+    private synchronized void cancelPendingTasks(SigningJob job) {
+        var cancelled = workQueues.values().stream().mapToInt(queue -> queue.cancel(job)).sum();
+        if (cancelled > 0)
+            Logging.log("Cancelled " + cancelled + " tasks, pending " + getPendingTasksCount());
+    }
+
     @Override
     public void onUIThreadDo(Runnable callback) {
         if (Platform.isFxApplicationThread()) {
@@ -445,10 +485,9 @@ public class GUI implements UI {
         if (!isActiveSigningKeyChangeAllowed())
             throw new RuntimeException("Signing key change is not allowed");
 
-        if (activeKey != null)
-            activeKey.close();
-
+        var previousKey = activeKey;
         activeKey = newKey;
+        closeKeyIfUnused(previousKey);
         driverWasAlreadySet = true;
         refreshKeyOnAllJobs();
 
@@ -464,8 +503,7 @@ public class GUI implements UI {
 
     public void disableSigning() {
         jobControllers.values().forEach(SigningDialogController::disableSigning);
-        if (batchController != null)
-            batchController.disableSigning();
+        batchControllers.values().forEach(BatchDialogController::disableSigning);
     }
 
     public void resetSigningKey() {
@@ -473,6 +511,7 @@ public class GUI implements UI {
     }
 
     public void cancelJob(SigningJob job) {
+        cancelPendingTasks(job);
         job.onDocumentSignFailed(new SigningCanceledByUserException());
         jobControllers.get(job).close();
     }
@@ -1,13 +1,15 @@
 package digital.slovensko.autogram.ui.gui;
 
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
 import digital.slovensko.autogram.core.Autogram;
+import digital.slovensko.autogram.core.DefaultDriverDetector;
+import digital.slovensko.autogram.core.ExecutorRegistry;
 import digital.slovensko.autogram.core.LaunchParameters;
 import digital.slovensko.autogram.core.UserSettings;
 import digital.slovensko.autogram.server.AutogramServer;
+import digital.slovensko.autogram.server.ServerExecutors;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.scene.Scene;
@@ -15,17 +17,20 @@ import javafx.stage.Stage;
 
 public class GUIApp extends Application {
     private final ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(1);
-    private final ExecutorService cachedExecutorService = Executors.newFixedThreadPool(8);
 
     @Override
     public void start(Stage windowStage) throws Exception {
         var userSettings = UserSettings.load();
+        var params = LaunchParameters.fromParameters(getParameters());
         var ui = new GUI(getHostServices(), userSettings);
-        var autogram = new Autogram(ui, userSettings.isCorrectDocumentDisplay());
+        var autogram = new Autogram(ui, userSettings.isCorrectDocumentDisplay(), new DefaultDriverDetector(), -1,
+                params.getMaxBatches());
 
         Platform.setImplicitExit(false);
         autogram.checkForUpdate();
-        autogram.initializeSignatureValidator(scheduledExecutorService, cachedExecutorService, userSettings.getTrustedList());
+        autogram.initializeSignatureValidator(scheduledExecutorService,
+                ExecutorRegistry.getInstance().getExecutor(ExecutorRegistry.Lane.TRUSTED_LISTS),
+                userSettings.getTrustedList());
 
         setUserAgentStylesheet(getClass().getResource("idsk.css").toExternalForm());
 
@@ -34,8 +39,10 @@ public class GUIApp extends Application {
 
         var scene = new Scene(root);
 
-        var params = LaunchParameters.fromParameters(getParameters());
-        var server = new AutogramServer(autogram, params.getHost(), params.getPort(), params.isProtocolHttps(), cachedExecutorService);
+        var serverExecutor = ExecutorRegistry.getInstance()
+                .register(ExecutorRegistry.Lane.HTTP, ServerExecutors.create(params.getServerExecutor()));
+        var server = new AutogramServer(autogram, params.getHost(), params.getPort(), params.isProtocolHttps(),
+                serverExecutor);
 
         if (userSettings.isServerEnabled()) {
             server.start();
@@ -64,7 +71,6 @@ public class GUIApp extends Application {
         if (!scheduledExecutorService.awaitTermination(2, java.util.concurrent.TimeUnit.SECONDS))
             scheduledExecutorService.shutdownNow();
 
-        if (!cachedExecutorService.awaitTermination(2, java.util.concurrent.TimeUnit.SECONDS))
-            cachedExecutorService.shutdownNow();
+        ExecutorRegistry.getInstance().shutdown();
     }
 }
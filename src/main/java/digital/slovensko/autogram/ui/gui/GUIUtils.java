@@ -1,11 +1,13 @@
 package digital.slovensko.autogram.ui.gui;
 
 import digital.slovensko.autogram.util.OperatingSystem;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -29,15 +31,9 @@ public class GUIUtils {
         stage.toFront();
         stage.show();
 
-        new Thread(() -> {
-            try {
-                Thread.sleep(42);
-            } catch (InterruptedException ignored) {
-                // noop
-            }
-
-            Platform.runLater(() -> stage.setAlwaysOnTop(false));
-        }).start();
+        var pause = new PauseTransition(Duration.millis(42));
+        pause.setOnFinished(e -> stage.setAlwaysOnTop(false));
+        pause.play();
     }
 
     public static void suppressDefaultFocus(Stage stage, SuppressedFocusController controller) {
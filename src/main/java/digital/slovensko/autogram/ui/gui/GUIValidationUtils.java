@@ -6,12 +6,9 @@ import java.util.function.Consumer;
 
 import javax.security.auth.x500.X500Principal;
 
-import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import digital.slovensko.autogram.core.ValidationSummary;
 import eu.europa.esig.dss.enumerations.Indication;
 import eu.europa.esig.dss.enumerations.SignatureQualification;
-import eu.europa.esig.dss.simplereport.SimpleReport;
-import eu.europa.esig.dss.simplereport.jaxb.XmlTimestamp;
-import eu.europa.esig.dss.validation.reports.Reports;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.layout.ColumnConstraints;
@@ -34,7 +31,7 @@ public class GUIValidationUtils {
         return warningTextFlow;
     }
 
-    public static GridPane createSignatureTableRows(Reports reports, boolean isValidated, Consumer<String> callback, int maxRows) {
+    public static GridPane createSignatureTableRows(ValidationSummary summary, boolean isValidated, Consumer<String> callback, int maxRows) {
         var table = new GridPane();
         table.getStyleClass().add("autogram-signatures-table");
 
@@ -47,18 +44,17 @@ public class GUIValidationUtils {
         half.setPercentWidth(50);
         table.getColumnConstraints().addAll(half, half);
 
-        var signatures = reports.getSimpleReport().getSignatureIdList();
+        var signatures = summary.signatures();
         var totalSignatures = signatures.size();
         if (totalSignatures > maxRows)
             signatures = signatures.subList(0, maxRows - 1);
 
-        for (var signatureId : signatures) {
-            var subject = new HBox(new TextFlow(new Text(reports.getSimpleReport().getSignedBy(signatureId))));
+        for (var signature : signatures) {
+            var subject = new HBox(new TextFlow(new Text(signature.signedBy())));
             subject.getStyleClass().add("autogram-signatures-table-cell--left");
             var type = new HBox(
                     SignatureBadgeFactory.createCombinedBadgeFromQualification(
-                            isValidated ? reports.getDetailedReport().getSignatureQualification(signatureId) : null,
-                            reports, signatureId, 0));
+                            isValidated ? signature.qualification() : null, signature, 0));
             table.addRow(table.getChildren().size(), subject, type);
         }
 
@@ -97,34 +93,24 @@ public class GUIValidationUtils {
         return whoSignedButton;
     }
 
-    public static VBox createSignatureBox(Reports reports, boolean isValidated, String signatureId,
+    public static VBox createSignatureBox(ValidationSummary.Signature signature, boolean isValidated,
                                           Consumer<String> callback, boolean areTLsLoaded) {
-        var simple = reports.getSimpleReport();
-        var diagnostic = reports.getDiagnosticData();
-
-        var isValid = simple.isValid(signatureId);
-        var isFailed = reports.getDetailedReport().getBasicValidationIndication(signatureId).equals(Indication.FAILED);
-        var name = simple.getSignedBy(signatureId);
-        var signingTime = format.format(simple.getSigningTime(signatureId));
-        var subject = getPrettyDNWithoutCN(
-                diagnostic.getSignatureById(signatureId).getSigningCertificate().getCertificateDN());
-        var issuer = getPrettyDN(diagnostic
-                .getCertificateIssuerDN(diagnostic.getSignatureById(signatureId).getSigningCertificate().getId()));
-        var signatureQualification = isValidated ? reports.getDetailedReport().getSignatureQualification(signatureId)
-                : null;
-        var timestamps = simple.getSignatureTimestamps(signatureId);
+        var isValid = signature.isValid();
+        var isFailed = signature.isFailed();
+        var name = signature.signedBy();
+        var signingTime = format.format(signature.signingTime());
+        var subject = getPrettyDNWithoutCN(signature.certificateDN());
+        var issuer = getPrettyDN(signature.issuerDN());
+        var signatureQualification = isValidated ? signature.qualification() : null;
+        var timestamps = signature.timestamps();
 
         var nameFlow = new TextFlow(new Text(name));
         nameFlow.getStyleClass().add("autogram-summary-header__title");
-        var errors = reports.getSimpleReport().getAdESValidationErrors(signatureId);
-        var isRevocationValidated = true;
-        for (var error : errors)
-            if (error.getValue().contains("No revocation data found for the certificate"))
-                isRevocationValidated = false;
+        var isRevocationValidated = signature.isRevocationValidated();
 
         var isTimestampInvalid = false;
         for (var timestamp : timestamps)
-            if (timestamp.getIndication().equals(Indication.FAILED))
+            if (timestamp.indication().equals(Indication.FAILED))
                 isTimestampInvalid = true;
 
         Node badge = null;
@@ -134,7 +120,7 @@ public class GUIValidationUtils {
             badge = SignatureBadgeFactory.createInvalidBadge("Neplatný podpis");
         else
             badge = SignatureBadgeFactory.createCombinedBadgeFromQualification(
-                    isValidated ? signatureQualification : null, reports, signatureId, 300);
+                    isValidated ? signatureQualification : null, signature, 300);
 
         var validFlow = new HBox(badge);
         validFlow.getStyleClass().add("autogram-summary-header__badge");
@@ -151,7 +137,7 @@ public class GUIValidationUtils {
                 createTableRow("Vydavateľ", issuer),
                 createTableRow("Negarantovaný čas podpisu", signingTime));
 
-        var timestampsBox = createTimestampsBox(isValidated, timestamps, simple, diagnostic, e -> {
+        var timestampsBox = createTimestampsBox(isValidated, timestamps, e -> {
             callback.accept(null);
         });
         if (!timestampsBox.getChildren().isEmpty()) {
@@ -219,22 +205,21 @@ public class GUIValidationUtils {
         return cell;
     }
 
-    public static VBox createTimestampsBox(boolean isValidated, List<XmlTimestamp> timestamps, SimpleReport simple,
-                                           DiagnosticData diagnostic, Consumer<String> callback) {
+    public static VBox createTimestampsBox(boolean isValidated, List<ValidationSummary.Timestamp> timestamps,
+                                           Consumer<String> callback) {
         var vBox = new VBox();
         vBox.getStyleClass().add("autogram-timestamps-box");
 
         for (var timestamp : timestamps) {
-            var isFailed = timestamp.getIndication().equals(Indication.FAILED);
-            var subject = new TextFlow(new Text(getPrettyDN(
-                    diagnostic.getCertificateDN(diagnostic.getTimestampSigningCertificateId(timestamp.getId())))));
-            var timestampQualification = isValidated ? simple.getTimestampQualification(timestamp.getId()) : null;
+            var isFailed = timestamp.indication().equals(Indication.FAILED);
+            var subject = new TextFlow(new Text(getPrettyDN(timestamp.certificateDN())));
+            var timestampQualification = isValidated ? timestamp.qualification() : null;
             var qualificationBadge = new TextFlow(
                     SignatureBadgeFactory.createBadgeFromTSQualification(isFailed, timestampQualification));
             var timestampDetailsBox = new VBox(subject, qualificationBadge);
 
             var button = new Button(
-                    format.format(timestamp.getProductionTime()),
+                    format.format(timestamp.productionTime()),
                     new TextFlow(new Polygon(0.0, 0.0, 9.0, 6.0, 0.0, 12.0)));
 
             button.getStyleClass().addAll("autogram-link");
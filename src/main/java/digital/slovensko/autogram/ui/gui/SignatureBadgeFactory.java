@@ -1,9 +1,8 @@
 package digital.slovensko.autogram.ui.gui;
 
-import eu.europa.esig.dss.enumerations.Indication;
+import digital.slovensko.autogram.core.ValidationSummary;
 import eu.europa.esig.dss.enumerations.SignatureQualification;
 import eu.europa.esig.dss.enumerations.TimestampQualification;
-import eu.europa.esig.dss.validation.reports.Reports;
 import javafx.scene.Node;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
@@ -100,61 +99,54 @@ public abstract class SignatureBadgeFactory {
     }
 
     public static Node createCombinedBadgeFromQualification(SignatureQualification signatureQualification,
-                                                            Reports reports, String signatureId, double prefWrapLength) {
+                                                            ValidationSummary.Signature signature, double prefWrapLength) {
         if (signatureQualification == null)
             return createInProgressBadge();
 
-        if (areTimestampsFailed(reports, signatureId))
-            return createMultipleBadges(signatureQualification, reports, signatureId, prefWrapLength);
+        if (signature.areTimestampsFailed())
+            return createMultipleBadges(signatureQualification, signature, prefWrapLength);
 
         switch (signatureQualification) {
             case QESIG: {
-                if (reports.getSimpleReport().getSignatureTimestamps(signatureId).isEmpty())
+                if (signature.timestamps().isEmpty())
                     return createValidQualifiedBadge("Vlastnoručný podpis");
 
-                if (areTimestampsQualified(reports, signatureId))
+                if (signature.areTimestampsQualified())
                     return createValidQualifiedBadge("Osvedčený podpis");
 
-                return createMultipleBadges(signatureQualification, reports, signatureId, prefWrapLength);
+                return createMultipleBadges(signatureQualification, signature, prefWrapLength);
             }
             case QESEAL: {
-                if (areTimestampsQualified(reports, signatureId))
+                if (signature.areTimestampsQualified())
                     return createValidQualifiedBadge("Elektronická pečať");
-                return createMultipleBadges(signatureQualification, reports, signatureId, prefWrapLength);
+                return createMultipleBadges(signatureQualification, signature, prefWrapLength);
             }
             case ADESIG_QC: {
-                if (areTimestampsQualified(reports, signatureId))
+                if (signature.areTimestampsQualified())
                     return createValidQualifiedBadge("Uznaný spôsob autorizácie");
-                return createMultipleBadges(signatureQualification, reports, signatureId, prefWrapLength);
+                return createMultipleBadges(signatureQualification, signature, prefWrapLength);
             }
             case ADESEAL, ADESEAL_QC, ADESIG:
-                return createMultipleBadges(signatureQualification, reports, signatureId, prefWrapLength);
+                return createMultipleBadges(signatureQualification, signature, prefWrapLength);
             default:
                 return createBadgeFromQualification(signatureQualification);
         }
     }
 
-    private static HBox createMultipleBadges(SignatureQualification signatureQualification, Reports reports,
-            String signatureId, double prefWrapLength) {
+    private static HBox createMultipleBadges(SignatureQualification signatureQualification,
+            ValidationSummary.Signature signature, double prefWrapLength) {
         var flowPane = new FlowPane(createReadableBadgeFromQualification(signatureQualification));
         flowPane.getStyleClass().add("autogram-tag-multiple-box");
         if (prefWrapLength > 1)
             flowPane.setPrefWrapLength(prefWrapLength);
 
-        var simple = reports.getSimpleReport();
-        for (var timestamp : simple.getSignatureTimestamps(signatureId)) {
-            var isQualified = timestamp.getQualificationDetails() != null;
-            var isFailed = timestamp.getIndication() == Indication.TOTAL_FAILED
-                    || timestamp.getIndication() == Indication.FAILED;
-
-            if (isFailed)
+        for (var timestamp : signature.timestamps()) {
+            if (timestamp.isFailed())
                 flowPane.getChildren().add(createInvalidBadge("Neplatná ČP"));
-            else if (isQualified)
-                flowPane.getChildren().add(
-                        createValidQualifiedBadge(simple.getTimestampQualification(timestamp.getId()).getReadable()));
+            else if (timestamp.isQualified())
+                flowPane.getChildren().add(createValidQualifiedBadge(timestamp.qualification().getReadable()));
             else
-                flowPane.getChildren()
-                        .add(createUnknownBadge(simple.getTimestampQualification(timestamp.getId()).getReadable()));
+                flowPane.getChildren().add(createUnknownBadge(timestamp.qualification().getReadable()));
         }
 
         return new HBox(flowPane);
@@ -177,22 +169,4 @@ public abstract class SignatureBadgeFactory {
                     return createInvalidBadge("Neznámy podpis");
         }
     }
-
-    private static boolean areTimestampsQualified(Reports reports, String signatureId) {
-        var simple = reports.getSimpleReport();
-        for (var timestamp : simple.getSignatureTimestamps(signatureId))
-            if (!simple.getTimestampQualification(timestamp.getId()).equals(TimestampQualification.QTSA))
-                return false;
-
-        return true;
-    }
-
-    private static boolean areTimestampsFailed(Reports reports, String signatureId) {
-        for (var timestamp : reports.getSimpleReport().getSignatureTimestamps(signatureId))
-            if (timestamp.getIndication().equals(Indication.TOTAL_FAILED)
-                    || timestamp.getIndication().equals(Indication.FAILED))
-                return true;
-
-        return false;
-    }
 }
@@ -1,7 +1,11 @@
 package digital.slovensko.autogram.ui.gui;
 
+import digital.slovensko.autogram.core.ExecutorRegistry;
 import digital.slovensko.autogram.core.SignatureValidator;
-import eu.europa.esig.dss.validation.reports.Reports;
+import digital.slovensko.autogram.core.ValidationReports;
+import digital.slovensko.autogram.core.ValidationSummary;
+import digital.slovensko.autogram.core.errors.AutogramException;
+import digital.slovensko.autogram.core.errors.UnrecognizedException;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -16,9 +20,8 @@ import static digital.slovensko.autogram.ui.gui.GUIValidationUtils.*;
 
 public class SignaturesController implements SuppressedFocusController {
     private final GUI gui;
-    private Reports signatureCheckReports;
-    private Reports signatureValidationReports;
-    private String signatureValidationReportsHTML;
+    private final ValidationSummary signatureCheckSummary;
+    private ValidationReports signatureValidationReports;
 
     @FXML
     Text signatureValidationMessage;
@@ -33,8 +36,8 @@ public class SignaturesController implements SuppressedFocusController {
     @FXML
     Button closeButton;
 
-    public SignaturesController(Reports signatureCheckReports, GUI gui) {
-        this.signatureCheckReports = signatureCheckReports;
+    public SignaturesController(ValidationSummary signatureCheckSummary, GUI gui) {
+        this.signatureCheckSummary = signatureCheckSummary;
         this.gui = gui;
     }
 
@@ -47,23 +50,37 @@ public class SignaturesController implements SuppressedFocusController {
         return mainBox;
     }
 
-    public void onSignatureValidationCompleted(Reports reports) {
+    public void onSignatureValidationCompleted(ValidationReports reports) {
         signatureValidationMessage.setText("");
         signatureValidationMessage.setVisible(false);
 
         signatureValidationReports = reports;
 
         renderSignatures();
+        signatureDetailsButton.setVisible(true);
+    }
 
-        gui.onWorkThreadDo(() -> {
-            signatureValidationReportsHTML = SignatureValidator
-                    .getSignatureValidationReportHTML(signatureValidationReports);
-            signatureDetailsButton.setVisible(true);
+    public void onSignatureDetailsButtonAction() {
+        signatureDetailsButton.setDisable(true);
+        gui.onWorkThreadDo(ExecutorRegistry.Lane.VALIDATION, () -> {
+            try {
+                var html = signatureValidationReports.createReportHTML();
+                gui.onUIThreadDo(() -> {
+                    signatureDetailsButton.setDisable(false);
+                    showSignatureDetails(html);
+                });
+            } catch (Exception e) {
+                var error = e instanceof AutogramException ? (AutogramException) e : new UnrecognizedException(e);
+                gui.onUIThreadDo(() -> {
+                    signatureDetailsButton.setDisable(false);
+                    gui.showError(error);
+                });
+            }
         });
     }
 
-    public void onSignatureDetailsButtonAction() {
-        var controller = new SignatureDetailsController(signatureValidationReportsHTML);
+    private void showSignatureDetails(String html) {
+        var controller = new SignatureDetailsController(html);
         var root = GUIUtils.loadFXML(controller, "signature-details.fxml");
 
         var stage = new Stage();
@@ -81,17 +98,17 @@ public class SignaturesController implements SuppressedFocusController {
 
     public void renderSignatures() {
         if (signatureValidationReports != null)
-            renderSignatures(signatureValidationReports, true);
+            renderSignatures(signatureValidationReports.getSummary(), true);
 
         else
-            renderSignatures(signatureCheckReports, false);
+            renderSignatures(signatureCheckSummary, false);
     }
 
-    public void renderSignatures(Reports reports, boolean isValidated) {
+    public void renderSignatures(ValidationSummary summary, boolean isValidated) {
         signaturesBox.getChildren().clear();
 
-        for (var signatureId : reports.getDiagnosticData().getSignatureIdList())
-            signaturesBox.getChildren().add(createSignatureBox(reports, isValidated, signatureId, e -> {
+        for (var signature : summary.signatures())
+            signaturesBox.getChildren().add(createSignatureBox(signature, isValidated, e -> {
                 getNodeForLoosingFocus().requestFocus();
             }, isValidated && SignatureValidator.getInstance().areTLsLoaded()));
     }
@@ -1,6 +1,6 @@
 package digital.slovensko.autogram.ui.gui;
 
-import eu.europa.esig.dss.validation.reports.Reports;
+import digital.slovensko.autogram.core.ValidationSummary;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
@@ -11,7 +11,7 @@ import static digital.slovensko.autogram.ui.gui.GUIValidationUtils.*;
 
 public class SignaturesInvalidDialogController implements SuppressedFocusController {
     private final SigningDialogController signingDialogController;
-    private final Reports reports;
+    private final ValidationSummary summary;
 
     @FXML
     Button cancelButton;
@@ -22,15 +22,15 @@ public class SignaturesInvalidDialogController implements SuppressedFocusControl
     @FXML
     VBox signaturesTable;
 
-    public SignaturesInvalidDialogController(SigningDialogController controller, Reports reports) {
+    public SignaturesInvalidDialogController(SigningDialogController controller, ValidationSummary summary) {
         this.signingDialogController = controller;
-        this.reports = reports;
+        this.summary = summary;
     }
 
     public void initialize() {
         signaturesTable.getChildren().clear();
         signaturesTable.getChildren().addAll(
-                createSignatureTableRows(reports, true, e -> {
+                createSignatureTableRows(summary, true, e -> {
                     signingDialogController.onShowSignaturesButtonPressed(null);
                 }, 6));
     }
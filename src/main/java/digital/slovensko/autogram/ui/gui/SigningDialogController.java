@@ -2,10 +2,11 @@ package digital.slovensko.autogram.ui.gui;
 
 import digital.slovensko.autogram.core.Autogram;
 import digital.slovensko.autogram.core.SignatureValidator;
+import digital.slovensko.autogram.core.ValidationReports;
+import digital.slovensko.autogram.core.ValidationSummary;
 import digital.slovensko.autogram.core.visualization.Visualization;
 import digital.slovensko.autogram.ui.Visualizer;
 import digital.slovensko.autogram.util.DSSUtils;
-import eu.europa.esig.dss.validation.reports.Reports;
 import eu.europa.esig.dss.model.DSSDocument;
 import javafx.concurrent.Worker;
 import javafx.event.ActionEvent;
@@ -37,8 +38,8 @@ public class SigningDialogController implements SuppressedFocusController, Visua
     private boolean signatureValidationCompleted = false;
     private boolean signatureCheckCompleted = false;
     private final Visualization visualization;
-    private Reports signatureValidationReports;
-    private Reports signatureCheckReports;
+    private ValidationReports signatureValidationReports;
+    private ValidationSummary signatureCheckSummary;
     private final boolean shouldCheckValidityBeforeSigning;
 
     @FXML
@@ -106,7 +107,8 @@ public class SigningDialogController implements SuppressedFocusController, Visua
     }
 
     private void showSignaturesInvalidDialog() {
-        var signaturesInvalidDialogController = new SignaturesInvalidDialogController(this, signatureValidationReports);
+        var signaturesInvalidDialogController = new SignaturesInvalidDialogController(this,
+                signatureValidationReports.getSummary());
 
         var root = GUIUtils.loadFXML(signaturesInvalidDialogController, "signatures-invalid-dialog.fxml");
         var stage = new Stage();
@@ -129,21 +131,19 @@ public class SigningDialogController implements SuppressedFocusController, Visua
             return;
         }
 
-        if ((!signatureCheckCompleted) || ((signatureCheckReports != null) && !signatureValidationCompleted)) {
+        if ((!signatureCheckCompleted) || ((signatureCheckSummary != null) && !signatureValidationCompleted)) {
             showSignaturesNotValidatedDialog();
             return;
         }
 
-        if (signatureCheckReports == null) {
+        if (signatureCheckSummary == null) {
             sign();
             return;
         }
 
-        for (var signatureId : signatureValidationReports.getSimpleReport().getSignatureIdList()) {
-            if (!signatureValidationReports.getSimpleReport().isValid(signatureId)) {
-                showSignaturesInvalidDialog();
-                return;
-            }
+        if (!signatureValidationReports.getSummary().areAllValid()) {
+            showSignaturesInvalidDialog();
+            return;
         }
 
         sign();
@@ -173,7 +173,7 @@ public class SigningDialogController implements SuppressedFocusController, Visua
 
     public void onShowSignaturesButtonPressed(ActionEvent event) {
         if (signaturesController == null)
-            signaturesController = new SignaturesController(signatureCheckReports, gui);
+            signaturesController = new SignaturesController(signatureCheckSummary, gui);
 
         var root = GUIUtils.loadFXML(signaturesController, "present-signatures-dialog.fxml");
 
@@ -191,19 +191,19 @@ public class SigningDialogController implements SuppressedFocusController, Visua
             signaturesController.onSignatureValidationCompleted(signatureValidationReports);
     }
 
-    public void onSignatureCheckCompleted(Reports reports) {
-        signatureCheckReports = reports;
+    public void onSignatureCheckCompleted(ValidationSummary summary) {
+        signatureCheckSummary = summary;
         signatureCheckCompleted = true;
-        renderSignatures(reports, false, true);
+        renderSignatures(summary, false, true);
 
         if (signaturesNotValidatedDialogController != null)
             signaturesNotValidatedDialogController.close();
     }
 
-    public void onSignatureValidationCompleted(Reports reports) {
+    public void onSignatureValidationCompleted(ValidationReports reports) {
         signatureValidationCompleted = true;
         signatureValidationReports = reports;
-        renderSignatures(reports, true, SignatureValidator.getInstance().areTLsLoaded());
+        renderSignatures(reports.getSummary(), true, SignatureValidator.getInstance().areTLsLoaded());
         if (signaturesController != null)
             signaturesController.onSignatureValidationCompleted(reports);
 
@@ -211,8 +211,8 @@ public class SigningDialogController implements SuppressedFocusController, Visua
             signaturesNotValidatedDialogController.close();
     }
 
-    public void renderSignatures(Reports reports, boolean isValidated, boolean areTLsLoaded) {
-        if (reports == null)
+    public void renderSignatures(ValidationSummary summary, boolean isValidated, boolean areTLsLoaded) {
+        if (summary == null)
             return;
 
         signaturesTable.setManaged(true);
@@ -225,7 +225,7 @@ public class SigningDialogController implements SuppressedFocusController, Visua
                             "Nastala chyba pri sťahovaní dôveryhodných zoznamov a podpisy nie je možné úplne overiť. Skontrolujte si internetové pripojenie."));
 
         signaturesTable.getChildren().add(
-                createSignatureTableRows(reports, isValidated, e -> onShowSignaturesButtonPressed(null), 3));
+                createSignatureTableRows(summary, isValidated, e -> onShowSignaturesButtonPressed(null), 3));
 
         var stage = (Stage) mainButton.getScene().getWindow();
         stage.sizeToScene();
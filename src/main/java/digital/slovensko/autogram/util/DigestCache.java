@@ -0,0 +1,68 @@
+package digital.slovensko.autogram.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.transform.stream.StreamSource;
+
+/**
+ * Thread-safe LRU cache of values compiled from an XML source, keyed by SHA-256 digest of the source. Values are
+ * compiled outside of the lock, so a slow source does not block others, and a source that fails to compile is not
+ * cached.
+ */
+public class DigestCache<V, E extends Exception> {
+    @FunctionalInterface
+    public interface Compiler<V, E extends Exception> {
+        V compile(StreamSource source) throws E;
+    }
+
+    private final Map<String, V> values;
+    private final Compiler<V, E> compiler;
+
+    public DigestCache(int maxEntries, Compiler<V, E> compiler) {
+        this.compiler = compiler;
+        this.values = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Source given as text is compiled from characters, so an encoding declared in its prolog does not apply
+     */
+    public V get(String source) throws E {
+        return get("text:" + Digests.sha256Hex(source), new StreamSource(new StringReader(source)));
+    }
+
+    /**
+     * Source given as bytes is decoded by the encoding declared in its prolog
+     */
+    public V get(byte[] source) throws E {
+        return get(Digests.sha256Hex(source), new StreamSource(new ByteArrayInputStream(source)));
+    }
+
+    private V get(String key, StreamSource source) throws E {
+        synchronized (values) {
+            var cached = values.get(key);
+            if (cached != null)
+                return cached;
+        }
+
+        var compiled = compiler.compile(source);
+
+        synchronized (values) {
+            var cached = values.putIfAbsent(key, compiled);
+            return cached != null ? cached : compiled;
+        }
+    }
+
+    public int size() {
+        synchronized (values) {
+            return values.size();
+        }
+    }
+}
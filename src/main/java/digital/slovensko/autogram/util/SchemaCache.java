@@ -0,0 +1,20 @@
+package digital.slovensko.autogram.util;
+
+import javax.xml.validation.Schema;
+
+import org.xml.sax.SAXException;
+
+/**
+ * Compiled XSD schemas. Compiled schemas are immutable, so every caller creates its own cheap Validator from them.
+ */
+public class SchemaCache extends DigestCache<Schema, SAXException> {
+    private static final SchemaCache instance = new SchemaCache(32);
+
+    public static SchemaCache getInstance() {
+        return instance;
+    }
+
+    public SchemaCache(int maxEntries) {
+        super(maxEntries, schema -> XMLUtils.getSecureSchemaFactory().newSchema(schema));
+    }
+}
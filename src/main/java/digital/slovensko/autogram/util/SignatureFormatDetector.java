@@ -0,0 +1,235 @@
+package digital.slovensko.autogram.util;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+
+import eu.europa.esig.dss.asic.common.ASiCUtils;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+
+/**
+ * Recognizes signature format of a document from its structure only, without parsing and validating signatures.
+ * Documents which cannot be recognized this way are reported as {@link Format#UNKNOWN} and have to be validated.
+ */
+public class SignatureFormatDetector {
+    private static final byte[] PDF_HEADER = "%PDF".getBytes();
+    private static final byte[] ZIP_HEADER = {'P', 'K', 3, 4};
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[] CMS_SIGNED_DATA_OID = {0x06, 0x09, 0x2A, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xF7,
+            0x0D, 0x01, 0x07, 0x02};
+
+    private static final byte[] BYTE_RANGE = "/ByteRange".getBytes();
+    private static final byte[] CONTENTS = "/Contents".getBytes();
+    private static final byte[] PADES_SUB_FILTER = "/ETSI.CAdES.detached".getBytes();
+    private static final byte[][] OTHER_SUB_FILTERS = {"/adbe.pkcs7.detached".getBytes(),
+            "/adbe.pkcs7.sha1".getBytes(), "/adbe.x509.rsa_sha1".getBytes(), "/ETSI.RFC3161".getBytes()};
+
+    private static final String XMLDSIG_NS = "http://www.w3.org/2000/09/xmldsig#";
+    private static final String XADES_NS_PREFIX = "http://uri.etsi.org/01903/";
+
+    private static final int HEADER_LENGTH = 32;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        UNSIGNED(null),
+        PAdES(SignatureLevel.PAdES_BASELINE_B),
+        XAdES(SignatureLevel.XAdES_BASELINE_B),
+        CAdES(SignatureLevel.CAdES_BASELINE_B),
+        UNKNOWN(null);
+
+        private final SignatureLevel signatureLevel;
+
+        Format(SignatureLevel signatureLevel) {
+            this.signatureLevel = signatureLevel;
+        }
+
+        public SignatureLevel getSignatureLevel() {
+            return signatureLevel;
+        }
+    }
+
+    public static Format detect(DSSDocument document) {
+        try {
+            var header = readHeader(document);
+            if (startsWith(header, PDF_HEADER))
+                return detectPDF(document);
+
+            if (startsWith(header, ZIP_HEADER))
+                return detectASiC(document);
+
+            if (header.length > 0 && header[0] == 0x30)
+                return detectCMS(header);
+
+            if (isXML(header))
+                return detectXML(document);
+
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            return Format.UNKNOWN;
+        }
+
+        return Format.UNKNOWN;
+    }
+
+    private static byte[] readHeader(DSSDocument document) throws IOException {
+        try (var stream = document.openStream()) {
+            return stream.readNBytes(HEADER_LENGTH);
+        }
+    }
+
+    /**
+     * Signature dictionaries cannot be stored in compressed object streams, so their keys are always present in plain
+     * form. PAdES signatures are recognized by their sub filter, any other sub filter is left for validation.
+     */
+    private static Format detectPDF(DSSDocument document) throws IOException {
+        var patterns = new byte[OTHER_SUB_FILTERS.length + 3][];
+        patterns[0] = BYTE_RANGE;
+        patterns[1] = CONTENTS;
+        patterns[2] = PADES_SUB_FILTER;
+        System.arraycopy(OTHER_SUB_FILTERS, 0, patterns, 3, OTHER_SUB_FILTERS.length);
+
+        boolean[] found;
+        try (var stream = document.openStream()) {
+            found = findPatterns(stream, patterns);
+        }
+
+        if (!found[0])
+            return Format.UNSIGNED;
+
+        for (int i = 3; i < found.length; i++)
+            if (found[i])
+                return Format.UNKNOWN;
+
+        return found[1] && found[2] ? Format.PAdES : Format.UNKNOWN;
+    }
+
+    private static Format detectASiC(DSSDocument document) throws IOException {
+        var hasXAdES = false;
+        var hasCAdES = false;
+
+        if (document instanceof FileDocument fileDocument) {
+            try (var zip = new ZipFile(fileDocument.getFile())) {
+                var entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    var name = entries.nextElement().getName();
+                    hasXAdES |= ASiCUtils.isXAdES(name);
+                    hasCAdES |= ASiCUtils.isCAdES(name);
+                }
+            }
+        } else {
+            try (var zip = new ZipInputStream(document.openStream())) {
+                for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                    hasXAdES |= ASiCUtils.isXAdES(entry.getName());
+                    hasCAdES |= ASiCUtils.isCAdES(entry.getName());
+                }
+            }
+        }
+
+        if (hasXAdES)
+            return Format.XAdES;
+
+        if (hasCAdES)
+            return Format.CAdES;
+
+        return Format.UNSIGNED;
+    }
+
+    /**
+     * ContentInfo is a SEQUENCE starting with the content type, only SignedData content carries signatures
+     */
+    private static Format detectCMS(byte[] header) {
+        var offset = 1;
+        if (offset >= header.length)
+            return Format.UNKNOWN;
+
+        var length = header[offset++] & 0xFF;
+        if (length > 0x80)
+            offset += length - 0x80;
+
+        if (offset + CMS_SIGNED_DATA_OID.length > header.length)
+            return Format.UNKNOWN;
+
+        var contentType = Arrays.copyOfRange(header, offset, offset + CMS_SIGNED_DATA_OID.length);
+        return Arrays.equals(contentType, CMS_SIGNED_DATA_OID) ? Format.CAdES : Format.UNSIGNED;
+    }
+
+    private static Format detectXML(DSSDocument document) throws IOException, XMLStreamException {
+        var hasSignature = false;
+
+        try (var stream = new BufferedInputStream(document.openStream())) {
+            var reader = XMLUtils.getSecureXMLInputFactory().createXMLStreamReader(stream);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() != XMLStreamConstants.START_ELEMENT)
+                        continue;
+
+                    var namespace = reader.getNamespaceURI();
+                    if (XMLDSIG_NS.equals(namespace) && reader.getLocalName().equals("Signature"))
+                        hasSignature = true;
+
+                    if (hasSignature && namespace != null && namespace.startsWith(XADES_NS_PREFIX)
+                            && reader.getLocalName().equals("QualifyingProperties"))
+                        return Format.XAdES;
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        return hasSignature ? Format.UNKNOWN : Format.UNSIGNED;
+    }
+
+    private static boolean isXML(byte[] header) {
+        var offset = startsWith(header, UTF8_BOM) ? UTF8_BOM.length : 0;
+        while (offset < header.length && Character.isWhitespace(header[offset]))
+            offset++;
+
+        return offset < header.length && header[offset] == '<';
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        return data.length >= prefix.length && Arrays.equals(data, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static boolean[] findPatterns(InputStream stream, byte[][] patterns) throws IOException {
+        var found = new boolean[patterns.length];
+        var overlap = 0;
+        for (var pattern : patterns)
+            overlap = Math.max(overlap, pattern.length - 1);
+
+        var buffer = new byte[BUFFER_SIZE + overlap];
+        var kept = 0;
+        int read;
+        while ((read = stream.read(buffer, kept, BUFFER_SIZE)) != -1) {
+            var length = kept + read;
+            for (int i = 0; i < patterns.length; i++)
+                if (!found[i])
+                    found[i] = indexOf(buffer, length, patterns[i]) != -1;
+
+            kept = Math.min(overlap, length);
+            System.arraycopy(buffer, length - kept, buffer, 0, kept);
+        }
+
+        return found;
+    }
+
+    private static int indexOf(byte[] data, int length, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++)
+                if (data[i + j] != pattern[j])
+                    continue outer;
+
+            return i;
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,20 @@
+package digital.slovensko.autogram.util;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
+
+/**
+ * Compiled XSLT stylesheets. Compiled templates are immutable, so every caller creates its own cheap Transformer from
+ * them.
+ */
+public class TemplatesCache extends DigestCache<Templates, TransformerConfigurationException> {
+    private static final TemplatesCache instance = new TemplatesCache(32);
+
+    public static TemplatesCache getInstance() {
+        return instance;
+    }
+
+    public TemplatesCache(int maxEntries) {
+        super(maxEntries, stylesheet -> XMLUtils.getSecureTransformerFactory().newTemplates(stylesheet));
+    }
+}
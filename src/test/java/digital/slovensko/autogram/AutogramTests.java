@@ -130,22 +130,6 @@ class AutogramTests {
         }
     }
 
-    private static class FakeTokenDriver extends TokenDriver {
-        public FakeTokenDriver(String name) {
-            super(name, Path.of(""), true, "fake");
-        }
-
-        @Override
-        public AbstractKeyStoreTokenConnection createTokenWithPassword(Integer slotId, char[] password) {
-            try {
-                var keystore = Objects.requireNonNull(this.getClass().getResource("test.keystore")).getFile();
-                return new Pkcs12SignatureToken(keystore, new KeyStore.PasswordProtection("".toCharArray()));
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        }
-    }
-
     private static class FakeTokenDriverWithExpiredCertificate extends TokenDriver {
 
         public FakeTokenDriverWithExpiredCertificate() {
@@ -179,7 +163,7 @@ class AutogramTests {
         }
 
         @Override
-        public void signBatch(SigningJob job, SigningKey key) {
+        public void signBatch(SigningJob job, SigningKey key, SigningPipeline pipeline) {
         }
 
         @Override
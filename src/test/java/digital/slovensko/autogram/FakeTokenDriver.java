@@ -0,0 +1,26 @@
+package digital.slovensko.autogram;
+
+import digital.slovensko.autogram.drivers.TokenDriver;
+import eu.europa.esig.dss.token.AbstractKeyStoreTokenConnection;
+import eu.europa.esig.dss.token.Pkcs12SignatureToken;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.Objects;
+
+public class FakeTokenDriver extends TokenDriver {
+    public FakeTokenDriver(String name) {
+        super(name, Path.of(""), true, "fake");
+    }
+
+    @Override
+    public AbstractKeyStoreTokenConnection createTokenWithPassword(Integer slotId, char[] password) {
+        try {
+            var keystore = Objects.requireNonNull(FakeTokenDriver.class.getResource("test.keystore")).getFile();
+            return new Pkcs12SignatureToken(keystore, new KeyStore.PasswordProtection("".toCharArray()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package digital.slovensko.autogram.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import digital.slovensko.autogram.core.errors.BatchConflictException;
+import digital.slovensko.autogram.core.errors.BatchExpiredException;
+import digital.slovensko.autogram.core.errors.BatchInvalidIdException;
+
+public class BatchRegistryTests {
+    @Test
+    public void testBatchesRunSideBySide() {
+        var registry = new BatchRegistry(2, batch -> {});
+        var first = registry.create(3);
+        var second = registry.create(5);
+        first.start(null);
+        second.start(null);
+
+        assertNotEquals(first.getBatchId(), second.getBatchId());
+        assertEquals(first, registry.get(first.getBatchId()));
+        assertEquals(second, registry.get(second.getBatchId()));
+
+        registry.get(first.getBatchId()).addJob(first.getBatchId());
+        assertThrows(BatchInvalidIdException.class, () -> registry.get("unknown"));
+        assertThrows(BatchInvalidIdException.class, () -> registry.get(null));
+    }
+
+    @Test
+    public void testNumberOfRunningBatchesIsLimited() {
+        var registry = new BatchRegistry(1, batch -> {});
+        var first = registry.create(1);
+
+        assertThrows(BatchConflictException.class, () -> registry.create(1));
+
+        first.end();
+        registry.create(1);
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void testSweeperExpiresBatchesAndForgetsThemLater() {
+        var expired = new ArrayList<Batch>();
+        var registry = new BatchRegistry(1, expired::add);
+        var batch = registry.create(1);
+        batch.start(null);
+        var batchId = batch.getBatchId();
+
+        registry.sweep(System.currentTimeMillis());
+        assertTrue(expired.isEmpty());
+
+        registry.sweep(batch.getExpiresAt());
+        assertEquals(1, expired.size());
+        assertTrue(batch.isEnded());
+        assertThrows(BatchExpiredException.class, () -> registry.get(batchId).validate(batchId));
+
+        registry.sweep(batch.getExpiresAt() + 1);
+        assertEquals(1, expired.size());
+        registry.create(1);
+
+        registry.sweep(batch.getExpiresAt() + Batch.TIME_TO_LIVE);
+        assertThrows(BatchInvalidIdException.class, () -> registry.get(batchId));
+    }
+}
@@ -0,0 +1,71 @@
+package digital.slovensko.autogram.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import digital.slovensko.autogram.core.errors.BatchEndedException;
+
+public class BatchTests {
+    @Test
+    public void testConcurrentProgressIsCountedExactly() throws InterruptedException {
+        var documents = 2000;
+        var batch = new Batch(documents);
+        batch.start(null);
+        var id = batch.getBatchId();
+        var notified = new AtomicInteger();
+        batch.addProgressListener(notified::incrementAndGet);
+
+        var executor = Executors.newFixedThreadPool(8);
+        var go = new CountDownLatch(1);
+        var rejected = new AtomicInteger();
+        for (var i = 0; i < documents + 100; i++) {
+            var success = i % 10 != 0;
+            executor.execute(() -> {
+                try {
+                    go.await();
+                    batch.addJob(id);
+                } catch (IllegalAccessError e) {
+                    rejected.incrementAndGet();
+                    return;
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                if (success)
+                    batch.onJobSuccess();
+                else
+                    batch.onJobFailure();
+            });
+        }
+        go.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(100, rejected.get());
+        assertEquals(documents, batch.getProcessedDocumentsCount());
+        assertEquals(documents, batch.getSuccessfulDocumentsCount() + batch.getFailedDocumentsCount());
+        assertEquals(documents, notified.get());
+        assertTrue(batch.isAllProcessed());
+    }
+
+    @Test
+    public void testEndedBatchRejectsDocuments() {
+        var batch = new Batch(1);
+        batch.start(null);
+        var id = batch.getBatchId();
+        assertFalse(batch.isAllProcessed());
+
+        batch.end();
+        assertTrue(batch.isEnded());
+        assertThrows(BatchEndedException.class, () -> batch.addJob(id));
+    }
+}
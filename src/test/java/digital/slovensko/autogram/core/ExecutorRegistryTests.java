@@ -0,0 +1,119 @@
+package digital.slovensko.autogram.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import digital.slovensko.autogram.core.ExecutorRegistry.Lane;
+
+public class ExecutorRegistryTests {
+    @Test
+    public void testWaitingAndRunningTasksAreCounted() throws InterruptedException {
+        var executor = new InstrumentedExecutorService("test", Executors.newSingleThreadExecutor());
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            executor.execute(() -> {});
+            executor.execute(() -> {});
+            started.await();
+
+            var stats = executor.getStats();
+            assertEquals(1, stats.active());
+            assertEquals(2, stats.queued());
+            assertEquals(0, stats.completed());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        var stats = executor.getStats();
+        assertEquals(0, stats.active());
+        assertEquals(0, stats.queued());
+        assertEquals(3, stats.completed());
+        assertTrue(stats.maxWait().compareTo(stats.averageWait()) >= 0);
+    }
+
+    @Test
+    public void testFloodOfVisualizationsDoesNotDelaySigning()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        var registry = ExecutorRegistry.getInstance();
+        var release = new CountDownLatch(1);
+        try {
+            for (var i = 0; i < 100; i++)
+                registry.getExecutor(Lane.VISUALIZATION).execute(() -> await(release));
+
+            var signed = registry.getExecutor(Lane.SIGNING).submit(() -> Thread.currentThread().getName());
+
+            assertTrue(signed.get(5, TimeUnit.SECONDS).startsWith("autogram-signing"));
+            assertTrue(registry.getStats().get(Lane.VISUALIZATION).queued() > 0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testLaneQueueIsBounded() {
+        var executor = ExecutorRegistry.getInstance().getExecutor(Lane.WORK);
+        var release = new CountDownLatch(1);
+        var accepted = 0;
+        try {
+            while (accepted <= 2 * ExecutorRegistry.QUEUE_CAPACITY) {
+                executor.execute(() -> await(release));
+                accepted++;
+            }
+        } catch (RejectedExecutionException e) {
+            assertTrue(accepted >= ExecutorRegistry.QUEUE_CAPACITY);
+        } finally {
+            release.countDown();
+        }
+
+        assertTrue(accepted < 2 * ExecutorRegistry.QUEUE_CAPACITY);
+    }
+
+    @Test
+    public void testRegisteredExecutorReplacesLanePool() throws InterruptedException, ExecutionException {
+        var registry = ExecutorRegistry.getInstance();
+        var executor = registry.register(Lane.HTTP,
+                Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-http")));
+
+        assertEquals("test-http", executor.submit(() -> Thread.currentThread().getName()).get());
+        assertEquals(executor, registry.getExecutor(Lane.HTTP));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testLanesInitializeBeforeRegistry() throws ReflectiveOperationException, IOException {
+        var classes = ExecutorRegistry.class.getProtectionDomain().getCodeSource().getLocation();
+        try (var loader = new URLClassLoader(new URL[] { classes }, ClassLoader.getPlatformClassLoader())) {
+            var lane = Class.forName(Lane.class.getName(), true, loader);
+            assertEquals("SIGNING", lane.getField("SIGNING").get(null).toString());
+
+            var registry = Class.forName(ExecutorRegistry.class.getName(), true, loader);
+            registry.getMethod("getInstance").invoke(null);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package digital.slovensko.autogram.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class SignatureServicesTest {
+    @Test
+    public void testServicesAreCreatedOnce() {
+        var services = new SignatureServices();
+
+        assertSame(services.getXAdESService(), services.getXAdESService());
+        assertSame(services.getASiCWithXAdESService(), services.getASiCWithXAdESService());
+        assertSame(services.getCAdESService(), services.getCAdESService());
+        assertSame(services.getASiCWithCAdESService(), services.getASiCWithCAdESService());
+        assertSame(services.getPAdESService(), services.getPAdESService());
+    }
+
+    @Test
+    public void testServicesAreNotSharedBetweenInstances() {
+        assertNotSame(new SignatureServices().getPAdESService(), new SignatureServices().getPAdESService());
+    }
+
+    @Test
+    public void testConcurrentAccessReturnsSameService() throws Exception {
+        var services = new SignatureServices();
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var tasks = IntStream.range(0, 100).mapToObj(i -> (Callable<Object>) services::getASiCWithXAdESService).toList();
+            var distinct = executor.invokeAll(tasks).stream().map(f -> {
+                try {
+                    return f.get();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }).distinct().count();
+
+            assertEquals(1, distinct);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
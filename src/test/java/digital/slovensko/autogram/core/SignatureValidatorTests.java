@@ -0,0 +1,63 @@
+package digital.slovensko.autogram.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+
+public class SignatureValidatorTests {
+    @Test
+    public void testValidationReportIsRenderedRepeatedly() throws IOException {
+        var document = new InMemoryDocument(getClass().getResourceAsStream("../sample_pdf_xades.asice").readAllBytes());
+        var validator = SignedDocumentValidator.fromDocument(document);
+        validator.setCertificateVerifier(new CommonCertificateVerifier(true));
+        var reports = validator.validateDocument();
+
+        var html = SignatureValidator.getSignatureValidationReportHTML(reports);
+
+        assertTrue(html.startsWith("<!DOCTYPE html>"));
+        assertFalse(html.contains("{{content}}"));
+        assertTrue(html.contains("Signature format:"));
+        assertEquals(html, SignatureValidator.getSignatureValidationReportHTML(reports));
+    }
+
+    @Test
+    public void testPublishedTrustedListsAreKeptWhenRefreshLoadsNothing(@TempDir Path directory) {
+        var offline = new TrustedListLoader(directory, Duration.ofMinutes(30)) {
+            @Override
+            public DSSDocument getDocument(String url) {
+                throw new DSSException("Offline " + url);
+            }
+        };
+
+        var validator = new SignatureValidator(offline);
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            validator.initialize(executor, List.of("SK"));
+            assertFalse(validator.areTLsLoaded());
+            assertNull(validator.getStartupDuration());
+
+            validator.publishSnapshot(new TrustedListsCertificateSource(), true, "published");
+            validator.refresh();
+            assertTrue(validator.areTLsLoaded());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package digital.slovensko.autogram.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import digital.slovensko.autogram.FakeTokenDriver;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+
+public class SigningPipelineTests {
+    private final SigningPipeline pipeline = new SigningPipeline(new SignatureServices());
+    private final ConcurrentLinkedQueue<String> events = new ConcurrentLinkedQueue<>();
+    private final Set<String> tokenThreads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger tokenSessions = new AtomicInteger();
+    private final AtomicInteger maxTokenSessions = new AtomicInteger();
+    private SigningKey key;
+
+    /**
+     * Key of the fake token which records threads using the token
+     */
+    @BeforeEach
+    public void createKey() {
+        var token = new FakeTokenDriver("fake").createTokenWithPassword(null, null);
+        key = new SigningKey(token, token.getKeys().get(0)) {
+            @Override
+            public SignatureValue sign(ToBeSigned dataToSign, DigestAlgorithm algo) {
+                maxTokenSessions.accumulateAndGet(tokenSessions.incrementAndGet(), Math::max);
+                try {
+                    events.add("sign");
+                    tokenThreads.add(Thread.currentThread().getName());
+                    Thread.sleep(5);
+                    return super.sign(dataToSign, algo);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    tokenSessions.decrementAndGet();
+                }
+            }
+        };
+    }
+
+    @AfterEach
+    public void shutdown() {
+        pipeline.shutdown();
+        key.close();
+    }
+
+    private SigningJob createJob(String name, Responder responder) {
+        var document = new InMemoryDocument(name.getBytes(), name + ".txt");
+        var job = spy(SigningJob.buildFromRequest(document,
+                SigningParameters.buildForASiCWithCAdES(document.getName(), document, false), responder));
+
+        doAnswer(invocation -> {
+            events.add("prepare");
+            return invocation.callRealMethod();
+        }).when(job).prepareSignature(any(), any());
+        doAnswer(invocation -> {
+            events.add("assemble");
+            return invocation.callRealMethod();
+        }).when(job).assembleAndRespond(any());
+
+        return job;
+    }
+
+    @Test
+    public void testStagesRunInOrderOnTheirThreads() throws Exception {
+        var responder = mock(Responder.class);
+        var job = createJob("document", responder);
+        var threads = new ConcurrentLinkedQueue<String>();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return null;
+        }).when(responder).onDocumentSigned(any());
+
+        pipeline.submit(job, key).get(30, TimeUnit.SECONDS);
+
+        assertEquals(List.of("prepare", "sign", "assemble"), new ArrayList<>(events));
+        assertTrue(tokenThreads.iterator().next().startsWith(ExecutorRegistry.Lane.SIGNING.getThreadName()));
+        assertEquals("autogram-sign-assemble", threads.peek());
+        verify(responder).onDocumentSigned(any());
+        verify(responder, never()).onDocumentSignFailed(any());
+    }
+
+    @Test
+    public void testFailedPrepareIsReportedToResponder() {
+        var responder = mock(Responder.class);
+        var job = createJob("document", responder);
+        doThrow(new DSSException("Prepare failed")).when(job).prepareSignature(any(), any());
+
+        pipeline.submit(job, key);
+
+        verify(responder, timeout(5000)).onDocumentSignFailed(any());
+        verify(responder, never()).onDocumentSigned(any());
+        assertTrue(tokenThreads.isEmpty());
+    }
+
+    @Test
+    public void testFailedAssembleIsReportedToResponder() {
+        var responder = mock(Responder.class);
+        var job = createJob("document", responder);
+        doThrow(new IllegalStateException("Assemble failed")).when(job).assembleAndRespond(any());
+
+        pipeline.submit(job, key);
+
+        verify(responder, timeout(30000)).onDocumentSignFailed(any());
+        verify(responder, never()).onDocumentSigned(any());
+    }
+
+    @Test
+    public void testTokenIsUsedByOneThreadOnly() throws Exception {
+        var responder = mock(Responder.class);
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        for (var i = 0; i < 8; i++)
+            futures.add(pipeline.submit(createJob("document " + i, responder), key));
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+
+        verify(responder, timeout(5000).times(8)).onDocumentSigned(any());
+        assertEquals(1, tokenThreads.size());
+        assertEquals(1, maxTokenSessions.get());
+    }
+}
@@ -0,0 +1,188 @@
+package digital.slovensko.autogram.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpServer;
+
+import digital.slovensko.autogram.core.TrustedListLoader.Outcome;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+
+public class TrustedListLoaderTests {
+    @TempDir
+    Path directory;
+
+    private HttpServer server;
+    private String url;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger conditionalRequests = new AtomicInteger();
+    private volatile String lotl = "<TrustServiceStatusList>1</TrustServiceStatusList>";
+    private volatile int status = 200;
+
+    /**
+     * Local stand-in for the EU LOTL which supports ETag validation
+     */
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/lotl.xml", exchange -> {
+            requests.incrementAndGet();
+            var etag = "\"" + lotl.hashCode() + "\"";
+            var ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (ifNoneMatch != null)
+                conditionalRequests.incrementAndGet();
+
+            try (exchange) {
+                if (status != 200) {
+                    exchange.sendResponseHeaders(status, -1);
+                } else if (etag.equals(ifNoneMatch)) {
+                    exchange.sendResponseHeaders(304, -1);
+                } else {
+                    var body = lotl.getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("ETag", etag);
+                    exchange.sendResponseHeaders(200, body.length);
+                    exchange.getResponseBody().write(body);
+                }
+            }
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/lotl.xml";
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    private static String content(DSSDocument document) throws IOException {
+        try (var stream = document.openStream()) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testRecentlyCheckedListIsNotRequested() throws IOException {
+        var loader = new TrustedListLoader(directory, Duration.ofHours(1));
+
+        assertEquals(lotl, content(loader.getDocument(url)));
+        assertEquals(Outcome.UPDATED, loader.getDownloads().get(url).outcome());
+        assertEquals(lotl, content(loader.getDocument(url)));
+
+        assertEquals(1, requests.get());
+        assertEquals(Outcome.CACHED, loader.getDownloads().get(url).outcome());
+    }
+
+    @Test
+    public void testUnchangedListIsRequestedConditionally() throws IOException {
+        var loader = new TrustedListLoader(directory, Duration.ZERO);
+
+        loader.getDocument(url);
+        var document = loader.getDocument(url);
+
+        assertEquals(lotl, content(document));
+        assertEquals(2, requests.get());
+        assertEquals(1, conditionalRequests.get());
+        assertEquals(Outcome.NOT_MODIFIED, loader.getDownloads().get(url).outcome());
+        assertEquals(1, loader.getUpdates());
+    }
+
+    @Test
+    public void testChangedListIsDownloaded() throws IOException {
+        var loader = new TrustedListLoader(directory, Duration.ZERO);
+        loader.getDocument(url);
+
+        lotl = "<TrustServiceStatusList>2</TrustServiceStatusList>";
+        var document = loader.getDocument(url);
+
+        assertEquals(lotl, content(document));
+        assertEquals(Outcome.UPDATED, loader.getDownloads().get(url).outcome());
+        assertEquals(2, loader.getUpdates());
+    }
+
+    @Test
+    public void testStoredListIsSharedBetweenLoaders() throws IOException {
+        new TrustedListLoader(directory, Duration.ofHours(1)).getDocument(url);
+
+        var loader = new TrustedListLoader(directory, Duration.ofHours(1));
+        assertArrayEquals(lotl.getBytes(StandardCharsets.UTF_8), loader.getDocument(url).openStream().readAllBytes());
+
+        assertEquals(1, requests.get());
+        assertEquals(0, loader.getUpdates());
+    }
+
+    @Test
+    public void testStoredListIsUsedWhenServerFails() throws IOException {
+        var loader = new TrustedListLoader(directory, Duration.ZERO);
+        loader.getDocument(url);
+
+        status = 500;
+        var document = loader.getDocument(url);
+
+        assertEquals(lotl, content(document));
+        assertEquals(Outcome.FAILED, loader.getDownloads().get(url).outcome());
+    }
+
+    @Test
+    public void testFailureWithoutStoredListIsReported() {
+        status = 404;
+        var loader = new TrustedListLoader(directory, Duration.ZERO);
+
+        assertThrows(DSSException.class, () -> loader.getDocument(url));
+        assertEquals(Outcome.FAILED, loader.getDownloads().get(url).outcome());
+    }
+
+    @Test
+    public void testStoredFileLoaderServesStoredListWithoutRequest() throws IOException {
+        new TrustedListLoader(directory, Duration.ZERO).getDocument(url);
+        var stored = new TrustedListLoader(directory, Duration.ZERO).getStoredFileLoader(Duration.ofDays(1));
+
+        assertEquals(lotl, content(stored.getDocument(url)));
+        assertEquals(1, requests.get());
+        assertThrows(DSSException.class, () -> stored.getDocument(url + "?other"));
+    }
+
+    @Test
+    public void testStoredFileLoaderRejectsOldOrDamagedList() throws IOException {
+        var loader = new TrustedListLoader(directory, Duration.ZERO);
+        loader.getDocument(url);
+
+        assertThrows(DSSException.class, () -> loader.getStoredFileLoader(Duration.ZERO).getDocument(url));
+
+        try (var files = Files.list(directory)) {
+            for (var file : files.filter(f -> !f.toString().endsWith(".properties")).toList())
+                Files.writeString(file, "<TrustServiceStatusList>forged</TrustServiceStatusList>");
+        }
+        assertThrows(DSSException.class, () -> loader.getStoredFileLoader(Duration.ofDays(1)).getDocument(url));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testContentSharedWithOtherListIsKeptWhenListChanges() throws IOException {
+        var mirror = url + "?mirror";
+        var loader = new TrustedListLoader(directory, Duration.ZERO);
+        var original = lotl;
+        loader.getDocument(url);
+        loader.getDocument(mirror);
+
+        lotl = "<TrustServiceStatusList>2</TrustServiceStatusList>";
+        loader.getDocument(url);
+
+        assertEquals(original, content(loader.getStoredFileLoader(Duration.ofDays(1)).getDocument(mirror)));
+        assertEquals(lotl, content(loader.getStoredFileLoader(Duration.ofDays(1)).getDocument(url)));
+    }
+}
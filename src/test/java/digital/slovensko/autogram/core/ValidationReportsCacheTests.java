@@ -0,0 +1,80 @@
+package digital.slovensko.autogram.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+public class ValidationReportsCacheTests {
+    private final AtomicInteger validations = new AtomicInteger();
+
+    private Reports validate() {
+        validations.incrementAndGet();
+        return null;
+    }
+
+    @Test
+    public void testSameDocumentIsValidatedOnce() {
+        var cache = new ValidationReportsCache(16, Duration.ofHours(1));
+
+        cache.get(new InMemoryDocument("document".getBytes()), 1, this::validate);
+        cache.get(new InMemoryDocument("document".getBytes()), 1, this::validate);
+
+        assertEquals(1, validations.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testDocumentIsValidatedAgainWithNewTrustedLists() {
+        var cache = new ValidationReportsCache(16, Duration.ofHours(1));
+        var document = new InMemoryDocument("document".getBytes());
+
+        cache.get(document, 1, this::validate);
+        cache.get(document, 2, this::validate);
+
+        assertEquals(2, validations.get());
+    }
+
+    @Test
+    public void testDifferentDocumentsAreValidated() {
+        var cache = new ValidationReportsCache(16, Duration.ofHours(1));
+
+        cache.get(new InMemoryDocument("first".getBytes()), 1, this::validate);
+        cache.get(new InMemoryDocument("second".getBytes()), 1, this::validate);
+
+        assertEquals(2, validations.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testOldReportsAreNotUsed() {
+        var cache = new ValidationReportsCache(16, Duration.ZERO);
+        var document = new InMemoryDocument("document".getBytes());
+
+        cache.get(document, 1, this::validate);
+        cache.get(document, 1, this::validate);
+
+        assertEquals(2, validations.get());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedReportsAreEvicted() {
+        var cache = new ValidationReportsCache(2, Duration.ofHours(1));
+        var first = new InMemoryDocument("first".getBytes());
+
+        cache.get(first, 1, this::validate);
+        cache.get(new InMemoryDocument("second".getBytes()), 1, this::validate);
+        cache.get(new InMemoryDocument("third".getBytes()), 1, this::validate);
+        cache.get(first, 1, this::validate);
+
+        assertEquals(4, validations.get());
+        assertEquals(2, cache.size());
+    }
+}
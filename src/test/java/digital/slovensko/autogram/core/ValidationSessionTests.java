@@ -0,0 +1,63 @@
+package digital.slovensko.autogram.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+
+public class ValidationSessionTests {
+    @TempDir
+    Path directory;
+
+    private SigningJob job(String name) throws IOException {
+        var file = directory.resolve(name);
+        try (var stream = getClass().getResourceAsStream("/digital/slovensko/autogram/" + name)) {
+            Files.copy(stream, file);
+        }
+
+        return SigningJob.buildFromFile(file.toFile(), null, false, SignatureLevel.PAdES_BASELINE_B, false);
+    }
+
+    @Test
+    public void testCheckAndValidationShareSignatures() throws IOException {
+        var session = new ValidationSession(job("sample_signed.pdf"));
+
+        var checkReports = session.check();
+        var validationReports = session.validate();
+
+        assertTrue(checkReports.haveSignatures());
+        assertTrue(validationReports.haveSignatures());
+        assertEquals(checkReports.getSummary().signatures().get(0).id(),
+                validationReports.getSummary().signatures().get(0).id());
+        assertSame(checkReports, session.check());
+        assertSame(validationReports, session.validate());
+    }
+
+    @Test
+    public void testDocumentWithoutSignaturesIsNotValidatedAgain() throws IOException {
+        var session = new ValidationSession(job("sample.pdf"));
+
+        var checkReports = session.check();
+
+        assertFalse(checkReports.haveSignatures());
+        assertSame(checkReports, session.validate());
+    }
+
+    @Test
+    public void testUnsupportedDocumentHasNoReports() throws IOException {
+        var session = new ValidationSession(job("sample.txt"));
+
+        assertNull(session.check().getSummary());
+        assertNull(session.validate().getSummary());
+    }
+}
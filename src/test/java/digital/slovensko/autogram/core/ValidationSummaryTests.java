@@ -0,0 +1,60 @@
+package digital.slovensko.autogram.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+public class ValidationSummaryTests {
+    private Reports check(String name) throws IOException {
+        try (var stream = getClass().getResourceAsStream("/digital/slovensko/autogram/" + name)) {
+            var validator = SignedDocumentValidator.fromDocument(new InMemoryDocument(stream.readAllBytes(), name));
+            validator.setCertificateVerifier(new CommonCertificateVerifier());
+            return validator.validateDocument();
+        }
+    }
+
+    @Test
+    public void testSummaryContainsWhatIsDisplayed() throws IOException {
+        var reports = check("sample_signed.pdf");
+        var summary = ValidationSummary.buildFromReports(reports);
+
+        assertEquals(1, summary.signatures().size());
+        var signature = summary.signatures().get(0);
+        var signatureId = reports.getSimpleReport().getFirstSignatureId();
+        assertEquals(signatureId, signature.id());
+        assertEquals(reports.getSimpleReport().getSignedBy(signatureId), signature.signedBy());
+        assertEquals(reports.getSimpleReport().getSigningTime(signatureId), signature.signingTime());
+        assertEquals(reports.getDetailedReport().getSignatureQualification(signatureId), signature.qualification());
+        assertNotNull(signature.certificateDN());
+        assertNotNull(signature.issuerDN());
+    }
+
+    @Test
+    public void testTimestampsAreSummarized() throws IOException {
+        var reports = check("sample_pdf_xades.asice");
+        var summary = ValidationSummary.buildFromReports(reports);
+
+        var signature = summary.signatures().get(0);
+        var timestamps = reports.getSimpleReport().getSignatureTimestamps(signature.id());
+        assertEquals(timestamps.size(), signature.timestamps().size());
+        for (var i = 0; i < timestamps.size(); i++)
+            assertEquals(timestamps.get(i).getProductionTime(), signature.timestamps().get(i).productionTime());
+    }
+
+    @Test
+    public void testDocumentWithoutSignaturesHasEmptySummary() throws IOException {
+        var summary = ValidationSummary.buildFromReports(check("sample.pdf"));
+
+        assertTrue(summary.signatures().isEmpty());
+        assertTrue(summary.areAllValid());
+    }
+}
@@ -0,0 +1,134 @@
+package digital.slovensko.autogram.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class WorkQueueTests {
+    private ExecutorService executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testProducerWaitsForFreeSlot() throws InterruptedException {
+        var queue = new WorkQueue(executor, 2);
+        queue.submit(null, this::awaitRelease, true);
+        queue.submit(null, this::awaitRelease, true);
+
+        var submitted = new CountDownLatch(1);
+        var producer = new Thread(() -> {
+            queue.submit(null, () -> {}, true);
+            submitted.countDown();
+        });
+        producer.start();
+
+        assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(2, queue.getPendingCount());
+
+        release.countDown();
+        assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        producer.join();
+    }
+
+    @Test
+    public void testTasksOfProducerWhichMustNotWaitAreDeferred() throws Exception {
+        var queue = new WorkQueue(executor, 1);
+        var ran = new AtomicInteger();
+        queue.submit(null, this::awaitRelease, false);
+        queue.submit(null, ran::incrementAndGet, false);
+        var last = queue.submit(null, ran::incrementAndGet, false);
+
+        assertEquals(3, queue.getPendingCount());
+        assertEquals(2, queue.getDeferredCount());
+        assertEquals(0, ran.get());
+
+        release.countDown();
+        last.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertEquals(2, ran.get());
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(0, queue.getDeferredCount());
+    }
+
+    @Test
+    public void testCancelledDeferredTaskFreesItsTurn() throws Exception {
+        var queue = new WorkQueue(executor, 1);
+        var owner = new Object();
+        var ran = new AtomicInteger();
+        queue.submit(null, this::awaitRelease, false);
+        queue.submit(owner, ran::incrementAndGet, false);
+        var other = queue.submit(null, ran::incrementAndGet, false);
+
+        assertEquals(1, queue.cancel(owner));
+        assertEquals(2, queue.getPendingCount());
+
+        release.countDown();
+        other.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertEquals(1, ran.get());
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test
+    public void testCancelDropsWaitingTasksOfOwner() throws InterruptedException {
+        var queue = new WorkQueue(executor, 10);
+        var owner = new Object();
+        var started = new CountDownLatch(1);
+        var ran = new AtomicInteger();
+
+        queue.submit(owner, () -> {
+            started.countDown();
+            awaitRelease();
+            ran.incrementAndGet();
+        }, true);
+        queue.submit(owner, ran::incrementAndGet, true);
+        queue.submit(owner, ran::incrementAndGet, true);
+        var other = queue.submit(new Object(), ran::incrementAndGet, true);
+        started.await();
+
+        assertEquals(2, queue.cancel(owner));
+        assertEquals(2, queue.getPendingCount());
+
+        release.countDown();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertTrue(other.isDone());
+        assertEquals(2, ran.get());
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(0, queue.cancel(owner));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package digital.slovensko.autogram.core.eforms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.crypto.dsig.CanonicalizationMethod;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import digital.slovensko.autogram.core.errors.XMLValidationException;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+
+public class EFormResourceCacheTest {
+    private static final String FORM_URI = "https://data.gov.sk/doc/egov/eform/App.GeneralAgenda/1.9";
+
+    @TempDir
+    Path cacheDirectory;
+
+    private EFormResourceCache.Resources generalAgenda;
+
+    @BeforeEach
+    public void loadGeneralAgenda() throws IOException {
+        generalAgenda = new EFormResourceCache.Resources(
+                readResource("general_agenda.xslt"), readResource("general_agenda.xsd"));
+    }
+
+    private EFormResourceCache.Resources generalAgenda() {
+        return generalAgenda;
+    }
+
+    private byte[] readResource(String name) throws IOException {
+        try (var stream = getClass().getResourceAsStream("/digital/slovensko/autogram/" + name)) {
+            return stream.readAllBytes();
+        }
+    }
+
+    @Test
+    public void testResourcesAreLoadedOnce() throws Exception {
+        var cache = new EFormResourceCache(cacheDirectory, 8, 60000);
+        var loads = new AtomicInteger();
+        EFormResourceCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            return generalAgenda;
+        };
+
+        var entry = cache.get(FORM_URI, loader);
+
+        assertSame(entry, cache.get(FORM_URI, loader));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testDigestsArePrecomputed() throws Exception {
+        var cache = new EFormResourceCache(cacheDirectory, 8, 60000);
+
+        var entry = cache.get(FORM_URI, this::generalAgenda);
+
+        assertEquals(EFormUtils.computeDigest(readResource("general_agenda.xsd"), CanonicalizationMethod.INCLUSIVE,
+                DigestAlgorithm.SHA256, StandardCharsets.UTF_8), entry.schemaDigest());
+        assertNotNull(entry.transformationDigest());
+    }
+
+    @Test
+    public void testResourcesAreReadFromDiskAfterMemoryIsCleared() throws Exception {
+        var cache = new EFormResourceCache(cacheDirectory, 8, 60000);
+        var entry = cache.get(FORM_URI, this::generalAgenda);
+        cache.clearMemory();
+
+        var fromDisk = new EFormResourceCache(cacheDirectory, 8, 60000).get(FORM_URI, () -> {
+            throw new XMLValidationException("Unexpected load", "Resources should be read from disk");
+        });
+
+        assertEquals(entry.transformation(), fromDisk.transformation());
+        assertEquals(entry.schema(), fromDisk.schema());
+        assertEquals(entry.schemaDigest(), fromDisk.schemaDigest());
+    }
+
+    @Test
+    public void testDamagedFileOnDiskIsNotUsed() throws Exception {
+        new EFormResourceCache(cacheDirectory, 8, 60000).get(FORM_URI, this::generalAgenda);
+        try (var files = Files.list(cacheDirectory)) {
+            for (var file : files.filter(f -> !f.toString().endsWith(".properties")).toList())
+                Files.writeString(file, "damaged");
+        }
+
+        var loads = new AtomicInteger();
+        new EFormResourceCache(cacheDirectory, 8, 60000).get(FORM_URI, () -> {
+            loads.incrementAndGet();
+            return generalAgenda();
+        });
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testEvictedFormIsReadFromDisk() throws Exception {
+        var cache = new EFormResourceCache(cacheDirectory, 1, 60000);
+        var loads = new AtomicInteger();
+        EFormResourceCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            return generalAgenda();
+        };
+
+        var entry = cache.get(FORM_URI, loader);
+        cache.get(FORM_URI + ".1", loader);
+
+        assertNotSame(entry, cache.get(FORM_URI, loader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testMissingResourcesAreNotCached() throws Exception {
+        var cache = new EFormResourceCache(cacheDirectory, 8, 60000);
+
+        assertNull(cache.get(FORM_URI, () -> new EFormResourceCache.Resources(null, null)));
+        assertNotNull(cache.get(FORM_URI, this::generalAgenda));
+    }
+}
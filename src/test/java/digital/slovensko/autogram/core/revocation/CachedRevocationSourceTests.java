@@ -0,0 +1,267 @@
+package digital.slovensko.autogram.core.revocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cert.ocsp.BasicOCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.RespID;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.x509.revocation.OnlineRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+
+public class CachedRevocationSourceTests {
+    private static final String CRL_URL = "http://crl.example.com/ca.crl";
+    private static final String OCSP_URL = "http://ocsp.example.com";
+
+    private static KeyPair caKeys;
+    private static CertificateToken ca;
+    private static CertificateToken certificate;
+
+    @TempDir
+    Path cacheDirectory;
+
+    @BeforeAll
+    public static void createCertificates() throws Exception {
+        var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        caKeys = generator.generateKeyPair();
+
+        var caName = new X500Name("CN=Test CA");
+        var caBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE, new Date(), inDays(365), caName,
+                caKeys.getPublic());
+        caBuilder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+        caBuilder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+        ca = toToken(caBuilder.build(signer()));
+
+        var builder = new JcaX509v3CertificateBuilder(caName, BigInteger.TWO, new Date(), inDays(365),
+                new X500Name("CN=Test"), generator.generateKeyPair().getPublic());
+        var crlName = new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, CRL_URL));
+        builder.addExtension(Extension.cRLDistributionPoints, false, new CRLDistPoint(new DistributionPoint[] {
+                new DistributionPoint(new DistributionPointName(crlName), null, null) }));
+        builder.addExtension(Extension.authorityInfoAccess, false, new AuthorityInformationAccess(
+                AccessDescription.id_ad_ocsp, new GeneralName(GeneralName.uniformResourceIdentifier, OCSP_URL)));
+        certificate = toToken(builder.build(signer()));
+    }
+
+    private static Date inDays(int days) {
+        return Date.from(Instant.now().plus(Duration.ofDays(days)));
+    }
+
+    private static ContentSigner signer() throws Exception {
+        return new JcaContentSignerBuilder("SHA256withRSA").build(caKeys.getPrivate());
+    }
+
+    private static CertificateToken toToken(X509CertificateHolder holder) throws Exception {
+        return DSSUtils.loadCertificate(holder.getEncoded());
+    }
+
+    /**
+     * Local stand-in for CRL distribution point and OCSP responder which counts requests
+     */
+    private static class StandInSource<R extends Revocation>
+            implements OnlineRevocationSource<R> {
+        private final AtomicInteger requests = new AtomicInteger();
+        private final String url;
+        private final TokenFactory<R> factory;
+
+        interface TokenFactory<R extends Revocation> {
+            RevocationToken<R> create(CertificateToken certificate, CertificateToken issuer) throws Exception;
+        }
+
+        StandInSource(String url, TokenFactory<R> factory) {
+            this.url = url;
+            this.factory = factory;
+        }
+
+        @Override
+        public void setDataLoader(DataLoader dataLoader) {
+        }
+
+        @Override
+        public RevocationTokenAndUrl<R> getRevocationTokenAndUrl(CertificateToken certificate,
+                CertificateToken issuer) {
+            requests.incrementAndGet();
+            try {
+                var token = factory.create(certificate, issuer);
+                token.setSourceURL(url);
+                return new RevocationTokenAndUrl<>(url, token);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public RevocationToken<R> getRevocationToken(CertificateToken certificate, CertificateToken issuer) {
+            return getRevocationTokenAndUrl(certificate, issuer).getRevocationToken();
+        }
+    }
+
+    private static StandInSource<CRL> crlStandIn(Duration validity) {
+        return new StandInSource<>(CRL_URL, (cert, issuer) -> {
+            var builder = new X509v2CRLBuilder(new X500Name("CN=Test CA"), new Date());
+            builder.setNextUpdate(Date.from(Instant.now().plus(validity)));
+            var crl = builder.build(signer()).getEncoded();
+            var crlValidity = CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(crl), issuer);
+            crlValidity.setIssuerToken(issuer);
+
+            return new CRLToken(cert, crlValidity);
+        });
+    }
+
+    private static StandInSource<OCSP> ocspStandIn(Duration validity) {
+        return ocspStandIn(Duration.ZERO, validity);
+    }
+
+    /**
+     * @param validity - null for a response without nextUpdate
+     */
+    private static StandInSource<OCSP> ocspStandIn(Duration age, Duration validity) {
+        return new StandInSource<>(OCSP_URL, (cert, issuer) -> {
+            var builder = new BasicOCSPRespBuilder(new RespID(new X500Name("CN=Test CA")));
+            var certificateId = DSSRevocationUtils.getOCSPCertificateID(cert, issuer, DigestAlgorithm.SHA1);
+            var thisUpdate = Instant.now().minus(age);
+            builder.addResponse(certificateId, CertificateStatus.GOOD, Date.from(thisUpdate),
+                    validity == null ? null : Date.from(thisUpdate.plus(validity)), null);
+            var response = builder.build(signer(), null, new Date());
+
+            return new OCSPToken(response, DSSRevocationUtils.getLatestSingleResponse(response, cert, issuer), cert,
+                    issuer);
+        });
+    }
+
+    @Test
+    public void testCRLIsDownloadedOnce() {
+        var standIn = crlStandIn(Duration.ofDays(1));
+        var source = new CachedCRLSource(standIn, 16, null, Duration.ofDays(7));
+
+        assertNotNull(source.getRevocationToken(certificate, ca));
+        assertNotNull(source.getRevocationToken(certificate, ca));
+        assertNotNull(source.getRevocationToken(certificate, ca));
+
+        assertEquals(1, standIn.requests.get());
+        assertEquals(1, source.getMisses());
+        assertEquals(2, source.getHits());
+    }
+
+    @Test
+    public void testOCSPResponseIsRequestedOnce() {
+        var standIn = ocspStandIn(Duration.ofHours(1));
+        var source = new CachedOCSPSource(standIn, 16, null, Duration.ofDays(7));
+
+        assertNotNull(source.getRevocationToken(certificate, ca));
+        assertNotNull(source.getRevocationToken(certificate, ca));
+
+        assertEquals(1, standIn.requests.get());
+        assertEquals(1, source.getHits());
+    }
+
+    @Test
+    public void testExpiredRevocationDataIsRequestedAgain() {
+        var standIn = ocspStandIn(Duration.ofSeconds(-1));
+        var source = new CachedOCSPSource(standIn, 16, null, Duration.ofDays(7));
+
+        source.getRevocationToken(certificate, ca);
+        source.getRevocationToken(certificate, ca);
+
+        assertEquals(2, standIn.requests.get());
+        assertEquals(0, source.getHits());
+    }
+
+    @Test
+    public void testRevocationDataOlderThanMaxStalenessIsRequestedAgain() {
+        var standIn = crlStandIn(Duration.ofDays(1));
+        var source = new CachedCRLSource(standIn, 16, null, Duration.ZERO);
+
+        source.getRevocationToken(certificate, ca);
+        source.getRevocationToken(certificate, ca);
+
+        assertEquals(2, standIn.requests.get());
+    }
+
+    @Test
+    public void testResponseWithoutNextUpdateIsUsedShortly() {
+        var fresh = ocspStandIn(Duration.ZERO, null);
+        var freshSource = new CachedOCSPSource(fresh, 16, null, Duration.ofDays(7));
+        freshSource.getRevocationToken(certificate, ca);
+        freshSource.getRevocationToken(certificate, ca);
+
+        var old = ocspStandIn(CachedRevocationSource.WITHOUT_NEXT_UPDATE_MAX_AGE.plusMinutes(1), null);
+        var oldSource = new CachedOCSPSource(old, 16, null, Duration.ofDays(7));
+        oldSource.getRevocationToken(certificate, ca);
+        oldSource.getRevocationToken(certificate, ca);
+
+        assertEquals(1, fresh.requests.get());
+        assertEquals(2, old.requests.get());
+    }
+
+    @Test
+    public void testMaxStalenessCanBeChanged() {
+        var standIn = ocspStandIn(Duration.ofHours(1), Duration.ofDays(1));
+        var source = new CachedOCSPSource(standIn, 16, null, Duration.ofDays(7));
+
+        source.getRevocationToken(certificate, ca);
+        source.getRevocationToken(certificate, ca);
+        source.setMaxStaleness(Duration.ofMinutes(30));
+        source.getRevocationToken(certificate, ca);
+
+        assertEquals(2, standIn.requests.get());
+    }
+
+    @Test
+    public void testRevocationDataIsReadFromDisk() {
+        var crlStandIn = crlStandIn(Duration.ofDays(1));
+        var ocspStandIn = ocspStandIn(Duration.ofHours(1));
+        new CachedCRLSource(crlStandIn, 16, cacheDirectory, Duration.ofDays(7)).getRevocationToken(certificate, ca);
+        new CachedOCSPSource(ocspStandIn, 16, cacheDirectory, Duration.ofDays(7)).getRevocationToken(certificate, ca);
+
+        var crlSource = new CachedCRLSource(crlStandIn, 16, cacheDirectory, Duration.ofDays(7));
+        var ocspSource = new CachedOCSPSource(ocspStandIn, 16, cacheDirectory, Duration.ofDays(7));
+
+        assertEquals(CRL_URL, crlSource.getRevocationToken(certificate, ca).getSourceURL());
+        assertEquals(OCSP_URL, ocspSource.getRevocationToken(certificate, ca).getSourceURL());
+        assertEquals(1, crlStandIn.requests.get());
+        assertEquals(1, ocspStandIn.requests.get());
+        assertEquals(1, crlSource.getHits());
+        assertEquals(1, ocspSource.getHits());
+    }
+}
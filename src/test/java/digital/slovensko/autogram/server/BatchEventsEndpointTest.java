@@ -0,0 +1,199 @@
+package digital.slovensko.autogram.server;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpServer;
+import digital.slovensko.autogram.core.Autogram;
+import digital.slovensko.autogram.core.Batch;
+import digital.slovensko.autogram.core.BatchResponder;
+import digital.slovensko.autogram.core.SigningKey;
+import digital.slovensko.autogram.core.errors.AutogramException;
+import digital.slovensko.autogram.ui.UI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchEventsEndpointTest {
+    private HttpServer server;
+    private Autogram autogram;
+    private Batch batch;
+    private boolean isStartDeferred;
+    private Batch deferredBatch;
+    private Consumer<SigningKey> deferredStart;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        autogram = new Autogram(startingUI(), false);
+        startBatch(3);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/batch", new BatchEndpoint(autogram));
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private void startBatch(int totalNumberOfDocuments) {
+        autogram.batchStart(totalNumberOfDocuments, new BatchResponder() {
+            @Override
+            public void onBatchStartSuccess(Batch started) {
+                batch = started;
+            }
+
+            @Override
+            public void onBatchStartFailure(AutogramException error) {
+            }
+
+            @Override
+            public void onBatchSignFailed(AutogramException error) {
+            }
+        });
+    }
+
+    /**
+     * UI which runs everything at once and starts every batch without a key, unless the start is deferred
+     */
+    @SuppressWarnings("unchecked")
+    private UI startingUI() {
+        return (UI) Proxy.newProxyInstance(UI.class.getClassLoader(), new Class<?>[] { UI.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "onUIThreadDo", "onWorkThreadDo" -> ((Runnable) args[args.length - 1]).run();
+                        case "startBatch" -> {
+                            if (isStartDeferred) {
+                                deferredBatch = (Batch) args[0];
+                                deferredStart = (Consumer<SigningKey>) args[2];
+                            } else {
+                                ((Consumer<SigningKey>) args[2]).accept(null);
+                            }
+                        }
+                    }
+                    return null;
+                });
+    }
+
+    private List<JsonObject> readEvents(String batchId, Consumer<String> onStatus)
+            throws Exception {
+        var response = HttpClient.newHttpClient().sendAsync(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort()
+                        + "/batch/" + batchId + "/events")).GET().build(),
+                HttpResponse.BodyHandlers.ofLines()).get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+
+        return response.body()
+                .filter(line -> line.startsWith("data: "))
+                .map(line -> JsonParser.parseString(line.substring("data: ".length())).getAsJsonObject())
+                .peek(progress -> onStatus.accept(progress.get("status").getAsString()))
+                .toList();
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort() + path))
+                .GET()
+                .build();
+
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testStreamsProgressUntilBatchIsFinished() throws Exception {
+        var events = HttpClient.newHttpClient().sendAsync(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort()
+                        + "/batch/" + batch.getBatchId() + "/events")).GET().build(),
+                HttpResponse.BodyHandlers.ofLines());
+
+        var response = events.get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+        assertEquals("text/event-stream", response.headers().firstValue("Content-Type").orElse(""));
+
+        var data = response.body()
+                .filter(line -> line.startsWith("data: "))
+                .map(line -> JsonParser.parseString(line.substring("data: ".length())).getAsJsonObject())
+                .peek(progress -> {
+                    if (progress.get("processedDocumentsCount").getAsInt() == 0) {
+                        batch.onJobSuccess();
+                        batch.onJobFailure();
+                        batch.onJobSuccess();
+                    }
+                })
+                .toList();
+
+        assertEquals("RUNNING", data.get(0).get("status").getAsString());
+        var last = data.get(data.size() - 1);
+        assertEquals("FINISHED", last.get("status").getAsString());
+        assertEquals(3, last.get("processedDocumentsCount").getAsInt());
+        assertEquals(2, last.get("successfulDocumentsCount").getAsInt());
+        assertEquals(1, last.get("failedDocumentsCount").getAsInt());
+    }
+
+    @Test
+    void testStreamEndsWhenBatchIsEnded() throws Exception {
+        var events = HttpClient.newHttpClient().sendAsync(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort()
+                        + "/batch/" + batch.getBatchId() + "/events")).GET().build(),
+                HttpResponse.BodyHandlers.ofLines());
+
+        var response = events.get(5, TimeUnit.SECONDS);
+        var lines = response.body().peek(line -> {
+            if (line.startsWith("data: "))
+                batch.end();
+        }).filter(line -> line.startsWith("data: ")).toList();
+
+        assertEquals("NOT_FINISHED", JsonParser.parseString(lines.get(lines.size() - 1).substring("data: ".length()))
+                .getAsJsonObject().get("status").getAsString());
+    }
+
+    @Test
+    void testEndedBatchIsReported() throws Exception {
+        batch.end();
+
+        var data = readEvents(batch.getId(), status -> {
+        });
+
+        assertEquals(1, data.size());
+        assertEquals("NOT_FINISHED", data.get(0).get("status").getAsString());
+    }
+
+    @Test
+    void testBatchIsFollowedFromBeforeItIsStarted() throws Exception {
+        isStartDeferred = true;
+        startBatch(1);
+        var notStarted = deferredBatch;
+
+        var statuses = new ArrayList<String>();
+        readEvents(notStarted.getId(), status -> {
+            statuses.add(status);
+            if (status.equals("NOT_STARTED"))
+                deferredStart.accept(null);
+            else if (status.equals("RUNNING"))
+                notStarted.onJobSuccess();
+        });
+
+        assertEquals(List.of("NOT_STARTED", "RUNNING", "FINISHED"), statuses);
+    }
+
+    @Test
+    void testUnknownBatchIsNotFound() throws Exception {
+        assertEquals(404, get("/batch/unknown/events").statusCode());
+        assertEquals(404, get("/batch/events").statusCode());
+    }
+}
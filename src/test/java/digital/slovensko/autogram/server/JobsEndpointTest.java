@@ -0,0 +1,151 @@
+package digital.slovensko.autogram.server;
+
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpServer;
+import digital.slovensko.autogram.core.SignedDocument;
+import digital.slovensko.autogram.core.errors.SigningCanceledByUserException;
+import digital.slovensko.autogram.server.errors.TooManyJobsException;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.token.Pkcs12SignatureToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JobsEndpointTest {
+    private HttpServer server;
+    private SignJobStore jobs;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        jobs = new SignJobStore(2, Duration.ofMinutes(1));
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/jobs", new JobsEndpoint(jobs));
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private HttpResponse<String> send(String method, String path) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort() + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static SignedDocument signedDocument(byte[] content) throws IOException {
+        var keystore = JobsEndpointTest.class.getResource("/digital/slovensko/autogram/test.keystore").getFile();
+        try (var token = new Pkcs12SignatureToken(keystore, new KeyStore.PasswordProtection("".toCharArray()))) {
+            return new SignedDocument(new InMemoryDocument(content), token.getKeys().get(0).getCertificate());
+        }
+    }
+
+    @Test
+    void testPendingJobIsAccepted() throws IOException, InterruptedException {
+        var job = jobs.create();
+
+        var response = send("GET", "/jobs/" + job.getId());
+
+        assertEquals(202, response.statusCode());
+        assertEquals("PENDING", JsonParser.parseString(response.body()).getAsJsonObject().get("status").getAsString());
+    }
+
+    @Test
+    void testAcceptedJobIsPendingAlsoWhenFinishedMeanwhile() throws IOException, InterruptedException {
+        var job = jobs.create();
+        new JobResponder(job).onDocumentSignFailed(new SigningCanceledByUserException());
+        server.createContext("/accepted", exchange -> JobsEndpoint.respondPending(job, exchange));
+
+        var response = send("POST", "/accepted");
+
+        assertEquals(202, response.statusCode());
+        assertEquals("PENDING", JsonParser.parseString(response.body()).getAsJsonObject().get("status").getAsString());
+    }
+
+    @Test
+    void testLongPollingReturnsSignedDocument() throws IOException, InterruptedException {
+        var job = jobs.create();
+        var signed = signedDocument("signed".getBytes());
+        new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                return;
+            }
+            new JobResponder(job).onDocumentSigned(signed);
+        }).start();
+
+        var response = send("GET", "/jobs/" + job.getId() + "?wait=10");
+
+        assertEquals(200, response.statusCode());
+        var content = JsonParser.parseString(response.body()).getAsJsonObject().get("content").getAsString();
+        assertEquals("signed", new String(Base64.getDecoder().decode(content)));
+    }
+
+    @Test
+    void testSignedDocumentIsReturnedOnce() throws IOException, InterruptedException {
+        var job = jobs.create();
+        new JobResponder(job).onDocumentSigned(signedDocument("signed".getBytes()));
+
+        assertEquals(200, send("GET", "/jobs/" + job.getId()).statusCode());
+        assertNull(jobs.get(job.getId()));
+        assertEquals(404, send("GET", "/jobs/" + job.getId()).statusCode());
+    }
+
+    @Test
+    void testFailedJobReturnsError() throws IOException, InterruptedException {
+        var job = jobs.create();
+        new JobResponder(job).onDocumentSignFailed(new SigningCanceledByUserException());
+
+        assertEquals(204, send("GET", "/jobs/" + job.getId()).statusCode());
+    }
+
+    @Test
+    void testDeletedJobIsNotFound() throws IOException, InterruptedException {
+        var job = jobs.create();
+
+        assertEquals(204, send("DELETE", "/jobs/" + job.getId()).statusCode());
+        assertEquals(404, send("GET", "/jobs/" + job.getId()).statusCode());
+    }
+
+    @Test
+    void testOldestFinishedJobIsDroppedWhenStoreIsFull() {
+        var finished = jobs.create();
+        new JobResponder(finished).onDocumentSignFailed(new SigningCanceledByUserException());
+        var pending = jobs.create();
+
+        jobs.create();
+
+        assertNull(jobs.get(finished.getId()));
+        assertEquals(pending, jobs.get(pending.getId()));
+        assertThrows(TooManyJobsException.class, jobs::create);
+    }
+
+    @Test
+    void testFinishedJobExpires() {
+        var store = new SignJobStore(2, Duration.ZERO);
+        var job = store.create();
+        new JobResponder(job).onDocumentSignFailed(new SigningCanceledByUserException());
+
+        assertNull(store.get(job.getId()));
+    }
+}
@@ -0,0 +1,102 @@
+package digital.slovensko.autogram.server;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerExecutorsTest {
+    private static final int WAITING_REQUESTS = 16;
+
+    /**
+     * Holds WAITING_REQUESTS requests the way /sign waits for the user and checks whether another request is answered
+     * meanwhile
+     */
+    private static boolean isAnsweredWhileRequestsWait(ExecutorService executor)
+            throws IOException, InterruptedException {
+        var release = new CountDownLatch(1);
+        var waiting = new CountDownLatch(WAITING_REQUESTS);
+        var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/sign", exchange -> {
+            waiting.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.createContext("/info", exchange -> {
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.setExecutor(executor);
+        server.start();
+
+        var client = HttpClient.newHttpClient();
+        var url = "http://localhost:" + server.getAddress().getPort();
+        try {
+            for (var i = 0; i < WAITING_REQUESTS; i++)
+                client.sendAsync(HttpRequest.newBuilder(URI.create(url + "/sign")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+
+            waiting.await(1, TimeUnit.SECONDS);
+            var info = client.sendAsync(HttpRequest.newBuilder(URI.create(url + "/info")).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            try {
+                return info.get(2, TimeUnit.SECONDS).statusCode() == 204;
+            } catch (TimeoutException | ExecutionException e) {
+                return false;
+            }
+        } finally {
+            release.countDown();
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFixedPoolIsExhaustedByWaitingRequests() throws IOException, InterruptedException {
+        assertFalse(isAnsweredWhileRequestsWait(ServerExecutors.create("8")));
+    }
+
+    @Test
+    void testVirtualExecutorAnswersWhileRequestsWait() throws IOException, InterruptedException {
+        assertTrue(isAnsweredWhileRequestsWait(ServerExecutors.create(ServerExecutors.VIRTUAL)));
+    }
+
+    @Test
+    void testCachedExecutorAnswersWhileRequestsWait() throws IOException, InterruptedException {
+        assertTrue(isAnsweredWhileRequestsWait(ServerExecutors.create(ServerExecutors.CACHED)));
+    }
+
+    @Test
+    void testServerThreadsAreDaemons() throws ExecutionException, InterruptedException {
+        var executor = ServerExecutors.create("1");
+        try {
+            assertTrue(executor.submit(() -> Thread.currentThread().isDaemon()).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testInvalidExecutorIsRejected() {
+        assertThrows(NumberFormatException.class, () -> ServerExecutors.create("unbounded"));
+    }
+}
@@ -0,0 +1,106 @@
+package digital.slovensko.autogram.server;
+
+import com.google.gson.JsonSyntaxException;
+import digital.slovensko.autogram.server.errors.EmptyBodyException;
+import digital.slovensko.autogram.server.errors.MalformedBodyException;
+import digital.slovensko.autogram.server.errors.RequestValidationException;
+import eu.europa.esig.dss.model.FileDocument;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignRequestBodyParserTest {
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testParsesStreamedBase64Document() throws IOException {
+        var content = Base64.getEncoder().encodeToString("Podpisovaný dokument".getBytes(StandardCharsets.UTF_8));
+        var json = """
+                {"document": {"filename": "sample.txt", "content": "%s"},
+                 "parameters": {"level": "XAdES_BASELINE_B", "container": "ASiC_E"},
+                 "payloadMimeType": "text/plain;base64", "batchId": "batch"}""".formatted(content.replace("/", "\\/"));
+
+        var body = SignRequestBodyParser.parse(stream(json));
+        body.validateDocument();
+        body.validateSigningParameters();
+
+        var document = body.getDocument();
+        assertEquals("sample.txt", document.getName());
+        assertEquals("Podpisovaný dokument", new String(document.openStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals("batch", body.getBatchId());
+
+        body.deleteTemporaryFiles();
+    }
+
+    @Test
+    void testParsesEscapedPlainContentInAnyFieldOrder() throws IOException {
+        var json = """
+                {"payloadMimeType": "text/plain", "parameters": {"level": "CAdES_BASELINE_B", "container": "ASiC_E"},
+                 "document": {"content": "caf\\u00e9 \\"quoted\\"\\n", "unknown": [1, {"a": "}"}]}}""";
+
+        var body = SignRequestBodyParser.parse(stream(json));
+        var document = body.getDocument();
+
+        assertEquals("café \"quoted\"\n", new String(document.openStream().readAllBytes(), StandardCharsets.UTF_8));
+        body.deleteTemporaryFiles();
+    }
+
+    @Test
+    void testDecodesLargeBase64DocumentIntoSingleFileInAnyFieldOrder() throws IOException {
+        var bytes = new byte[1024 * 1024 + 7];
+        new Random(42).nextBytes(bytes);
+        var content = Base64.getEncoder().encodeToString(bytes);
+
+        for (var json : new String[] {
+                "{\"payloadMimeType\": \"application/pdf;base64\", \"document\": {\"content\": \"%s\"}}",
+                "{\"document\": {\"content\": \"%s\", \"filename\": null}, \"payloadMimeType\": \"application/pdf;base64\"}"}) {
+            var body = SignRequestBodyParser.parse(stream(json.formatted(content)));
+            var document = (FileDocument) body.getDocument();
+
+            assertArrayEquals(bytes, Files.readAllBytes(document.getFile().toPath()));
+            body.deleteTemporaryFiles();
+            assertFalse(document.getFile().exists());
+        }
+    }
+
+    @Test
+    void testThrowsOnInvalidBase64Content() {
+        assertThrows(MalformedBodyException.class, () -> SignRequestBodyParser.parse(stream(
+                "{\"payloadMimeType\": \"text/plain;base64\", \"document\": {\"content\": \"not base64!\"}}")));
+        assertThrows(MalformedBodyException.class, () -> SignRequestBodyParser.parse(stream(
+                "{\"payloadMimeType\": \"text/plain;base64\", \"document\": {\"content\": \"YQ==YQ==\"}}")));
+        assertThrows(MalformedBodyException.class, () -> SignRequestBodyParser.parse(stream(
+                "{\"document\": {\"content\": \"YQ==YQ==\"}, \"payloadMimeType\": \"text/plain;base64\"}")));
+        assertThrows(MalformedBodyException.class, () -> SignRequestBodyParser.parse(stream(
+                "{\"document\": {\"content\": \"caf\\u00e9\"}, \"payloadMimeType\": \"text/plain;base64\"}")));
+    }
+
+    @Test
+    void testIgnoresContentWhichIsNotString() throws IOException {
+        var body = SignRequestBodyParser.parse(stream(
+                "{\"document\": {\"content\": null, \"filename\": \"a.txt\"}, \"payloadMimeType\": \"text/plain\"}"));
+
+        assertThrows(RequestValidationException.class, body::validateDocument);
+    }
+
+    @Test
+    void testThrowsOnEmptyBody() {
+        assertThrows(EmptyBodyException.class, () -> SignRequestBodyParser.parse(stream("  ")));
+    }
+
+    @Test
+    void testThrowsOnMalformedBody() {
+        assertThrows(JsonSyntaxException.class, () -> SignRequestBodyParser.parse(stream("{\"document\": {\"content\": \"abc")));
+        assertThrows(JsonSyntaxException.class, () -> SignRequestBodyParser.parse(stream("{\"a\": 1 \"b\": 2}")));
+        assertThrows(JsonSyntaxException.class, () -> SignRequestBodyParser.parse(stream("[1]")));
+    }
+}
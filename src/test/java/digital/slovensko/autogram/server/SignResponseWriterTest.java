@@ -0,0 +1,33 @@
+package digital.slovensko.autogram.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import digital.slovensko.autogram.server.dto.SignResponse;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SignResponseWriterTest {
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 65536, 100001})
+    void testWritesSameJsonAsSignResponse(int size) throws IOException {
+        var content = new byte[size];
+        new Random(size).nextBytes(content);
+        var signer = "CN=Jožko \"Mrkvička\",C=SK";
+        var issuer = "CN=Test CA";
+
+        var out = new ByteArrayOutputStream();
+        SignResponseWriter.write(out, new InMemoryDocument(content), signer, issuer);
+
+        var expected = new Gson().toJson(new SignResponse(Base64.getEncoder().encodeToString(content), signer, issuer));
+        assertEquals(JsonParser.parseString(expected), JsonParser.parseString(out.toString(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,103 @@
+package digital.slovensko.autogram.server;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidateEndpointTest {
+    private HttpServer server;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        executor = Executors.newFixedThreadPool(2);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/validate", new ValidateEndpoint(executor, 2));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private static String document(String id, String resource) throws IOException {
+        try (var stream = ValidateEndpointTest.class.getResourceAsStream("/digital/slovensko/autogram/" + resource)) {
+            var content = Base64.getEncoder().encodeToString(stream.readAllBytes());
+            return "{\"id\":\"" + id + "\",\"document\":{\"filename\":\"" + resource + "\",\"content\":\"" + content + "\"}}";
+        }
+    }
+
+    private HttpResponse<String> post(String contentType, String body) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort() + "/validate"))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testValidatesSingleDocument() throws IOException, InterruptedException {
+        var response = post("application/json", document("signed", "sample_signed.pdf"));
+
+        assertEquals(200, response.statusCode());
+        var result = JsonParser.parseString(response.body()).getAsJsonObject();
+        assertEquals("signed", result.get("id").getAsString());
+        assertEquals(1, result.getAsJsonArray("signatures").size());
+        assertNull(result.get("index"));
+    }
+
+    @Test
+    void testValidatesStreamOfDocuments() throws IOException, InterruptedException {
+        var body = document("signed", "sample_signed.pdf") + "\n"
+                + document("unsigned", "sample.pdf") + "\n"
+                + "\n"
+                + "{\"id\":\"broken\",\"document\":{\"content\":\"not base64\"}}\n"
+                + "{not json\n"
+                + document("asice", "sample_pdf_xades.asice") + "\n";
+
+        var response = post("application/x-ndjson", body);
+
+        assertEquals(200, response.statusCode());
+        var results = new HashMap<Integer, JsonObject>();
+        response.body().lines().forEach(line -> {
+            var result = JsonParser.parseString(line).getAsJsonObject();
+            results.put(result.get("index").getAsInt(), result);
+        });
+
+        assertEquals(5, results.size());
+        assertEquals(1, results.get(0).getAsJsonArray("signatures").size());
+        assertEquals(0, results.get(1).getAsJsonArray("signatures").size());
+        assertEquals("broken", results.get(2).get("id").getAsString());
+        assertEquals("MALFORMED_INPUT", results.get(2).getAsJsonObject("error").get("code").getAsString());
+        assertTrue(results.get(3).has("error"));
+        assertEquals(1, results.get(4).getAsJsonArray("signatures").size());
+    }
+
+    @Test
+    void testRejectsDocumentWithoutContent() throws IOException, InterruptedException {
+        var response = post("application/json", "{\"id\":\"empty\",\"document\":{}}");
+
+        assertEquals(422, response.statusCode());
+    }
+}
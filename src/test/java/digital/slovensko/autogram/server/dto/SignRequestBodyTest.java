@@ -3,11 +3,13 @@ package digital.slovensko.autogram.server.dto;
 import digital.slovensko.autogram.core.errors.TransformationParsingErrorException;
 import digital.slovensko.autogram.core.errors.XMLValidationException;
 import digital.slovensko.autogram.server.errors.MalformedBodyException;
+import eu.europa.esig.dss.enumerations.ASiCContainerType;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.SignatureLevel;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 
 import java.io.*;
 import java.util.Base64;
@@ -1190,4 +1192,36 @@ class SignRequestBodyTest {
 
         Assertions.assertDoesNotThrow(signRequestBody::getParameters);
     }
+
+    @Test
+    void testDocumentIsDecodedOncePerRequest() {
+        var document = Mockito.spy(new Document("sample.txt", Base64.getEncoder().encodeToString("Testovací dokument".getBytes())));
+        var signingParameters = new ServerSigningParameters(
+                SignatureLevel.XAdES_BASELINE_B,
+                ASiCContainerType.ASiC_E,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                false,
+                null,
+                false);
+
+        var signRequestBody = new SignRequestBody(document, signingParameters, "text/plain;base64");
+        signRequestBody.validateDocument();
+        signRequestBody.validateSigningParameters();
+        var parameters = signRequestBody.getParameters();
+        var decoded = signRequestBody.getDocument();
+
+        Assertions.assertSame(decoded, signRequestBody.getDocument());
+        Assertions.assertSame(parameters, signRequestBody.getParameters());
+        Mockito.verify(document, Mockito.times(1)).getContent();
+    }
 }
@@ -0,0 +1,38 @@
+package digital.slovensko.autogram.ui.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import digital.slovensko.autogram.core.errors.TargetAlreadyExistsException;
+
+public class CliUITests {
+    @Test
+    public void testParallelWorkFailureFailsTheRun() throws InterruptedException {
+        var ui = new CliUI();
+        var executor = Executors.newSingleThreadExecutor();
+        ui.setWorkExecutor(executor);
+
+        var done = new AtomicInteger();
+        var failure = new TargetAlreadyExistsException();
+        ui.onWorkThreadDo(done::incrementAndGet);
+        ui.onWorkThreadDo(() -> {
+            throw failure;
+        });
+        ui.onWorkThreadDo(done::incrementAndGet);
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, done.get());
+        assertSame(failure, assertThrows(TargetAlreadyExistsException.class, ui::rethrowWorkFailure));
+        ui.rethrowWorkFailure();
+    }
+}
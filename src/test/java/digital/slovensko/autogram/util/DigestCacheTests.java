@@ -0,0 +1,97 @@
+package digital.slovensko.autogram.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.jupiter.api.Test;
+
+public class DigestCacheTests {
+    private final AtomicInteger compilations = new AtomicInteger();
+
+    private DigestCache<String, IOException> newCache(int maxEntries) {
+        return new DigestCache<>(maxEntries, source -> {
+            compilations.incrementAndGet();
+            var text = read(source);
+            if (text.startsWith("<invalid"))
+                throw new IOException(text);
+
+            return new String(text);
+        });
+    }
+
+    private static String read(StreamSource source) throws IOException {
+        if (source.getReader() == null)
+            return new String(source.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+        var text = new StringWriter();
+        source.getReader().transferTo(text);
+        return text.toString();
+    }
+
+    @Test
+    public void testTextAndBytesAreCompiledFromTheirOwnSources() throws Exception {
+        var cache = newCache(4);
+
+        assertEquals("a", cache.get("a"));
+        assertEquals("a", cache.get("a".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(2, compilations.get());
+    }
+
+    @Test
+    public void testSameSourceIsCompiledOnce() throws Exception {
+        var cache = newCache(4);
+
+        assertSame(cache.get("a"), cache.get("a"));
+        assertEquals(1, cache.size());
+        assertEquals(1, compilations.get());
+    }
+
+    @Test
+    public void testDifferentSourcesAreCachedSeparately() throws Exception {
+        var cache = newCache(4);
+
+        assertNotSame(cache.get("a"), cache.get("b"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedValueIsEvicted() throws Exception {
+        var cache = newCache(2);
+        var a = cache.get("a");
+        cache.get("b");
+        cache.get("a");
+        cache.get("c");
+
+        assertEquals(2, cache.size());
+        assertSame(a, cache.get("a"));
+        assertEquals(3, compilations.get());
+
+        cache.get("b");
+        assertEquals(4, compilations.get());
+    }
+
+    @Test
+    public void testFailedCompilationIsNotCached() {
+        var cache = newCache(2);
+
+        assertThrows(IOException.class, () -> cache.get("<invalid"));
+        assertThrows(IOException.class, () -> cache.get("<invalid"));
+        assertEquals(0, cache.size());
+        assertEquals(2, compilations.get());
+    }
+
+    @Test
+    public void testSha256Hex() {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", Digests.sha256Hex(""));
+        assertEquals(Digests.sha256Hex("abc"), Digests.sha256Hex("abc".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,47 @@
+package digital.slovensko.autogram.util;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+public class SchemaCacheTests {
+    private static final String SCHEMA = """
+            <xs:schema xmlns:xs="http://www.w3.org/2001/XMLSchema">
+                <xs:element name="a" type="xs:string"/>
+            </xs:schema>
+            """;
+
+    @Test
+    public void testCompiledSchemaValidatesAndIsShared() throws Exception {
+        var cache = new SchemaCache(4);
+        var schema = cache.get(SCHEMA);
+
+        assertSame(schema, cache.get(SCHEMA));
+        assertDoesNotThrow(() -> schema.newValidator().validate(new StreamSource(new StringReader("<a>text</a>"))));
+        assertThrows(SAXException.class, () -> schema.newValidator().validate(new StreamSource(new StringReader("<b/>"))));
+    }
+
+    @Test
+    public void testTextIsNotDecodedByDeclaredEncoding() throws Exception {
+        var schema = new SchemaCache(4).get("<?xml version=\"1.0\" encoding=\"ISO-8859-2\"?>"
+                + SCHEMA.replace("name=\"a\"", "name=\"čaj\""));
+
+        assertDoesNotThrow(() -> schema.newValidator().validate(new StreamSource(new StringReader("<čaj>text</čaj>"))));
+    }
+
+    @Test
+    public void testInvalidSchemaIsNotCached() {
+        var cache = new SchemaCache(2);
+
+        assertThrows(SAXException.class, () -> cache.get("<not-a-schema"));
+        assertEquals(0, cache.size());
+    }
+}
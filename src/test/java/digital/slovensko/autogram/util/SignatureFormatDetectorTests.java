@@ -0,0 +1,88 @@
+package digital.slovensko.autogram.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import digital.slovensko.autogram.util.SignatureFormatDetector.Format;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+
+public class SignatureFormatDetectorTests {
+    @TempDir
+    Path directory;
+
+    private static DSSDocument resource(String name) throws IOException {
+        try (var stream = SignatureFormatDetectorTests.class.getResourceAsStream("/digital/slovensko/autogram/" + name)) {
+            return new InMemoryDocument(stream.readAllBytes(), name);
+        }
+    }
+
+    @Test
+    public void testPDFFormats() throws IOException {
+        assertEquals(Format.UNSIGNED, SignatureFormatDetector.detect(resource("sample.pdf")));
+        assertEquals(Format.PAdES, SignatureFormatDetector.detect(resource("sample_signed.pdf")));
+    }
+
+    @Test
+    public void testPDFWithOtherSubFilterIsUnknown() {
+        var pdf = "%PDF-1.7\n1 0 obj << /Type /Sig /Filter /Adobe.PPKLite /SubFilter /adbe.pkcs7.detached "
+                + "/ByteRange [0 10 20 30] /Contents <00> >> endobj\n%%EOF";
+
+        assertEquals(Format.UNKNOWN, SignatureFormatDetector.detect(new InMemoryDocument(pdf.getBytes())));
+    }
+
+    @Test
+    public void testASiCFormats() throws IOException {
+        assertEquals(Format.XAdES, SignatureFormatDetector.detect(resource("sample_pdf_xades.asice")));
+        assertEquals(Format.CAdES, SignatureFormatDetector.detect(resource("sample_pdf_cades.asice")));
+        assertEquals(Format.UNSIGNED, SignatureFormatDetector.detect(resource("no_signatures.asice")));
+        assertEquals(Format.UNSIGNED, SignatureFormatDetector.detect(resource("sample.docx")));
+    }
+
+    @Test
+    public void testASiCFileFormat() throws IOException {
+        var file = directory.resolve("sample_pdf_xades.asice");
+        Files.write(file, resource("sample_pdf_xades.asice").openStream().readAllBytes());
+
+        assertEquals(Format.XAdES, SignatureFormatDetector.detect(new FileDocument(file.toFile())));
+    }
+
+    @Test
+    public void testCMSFormat() throws IOException {
+        byte[] signature = null;
+        try (var zip = new ZipInputStream(resource("sample_pdf_cades.asice").openStream())) {
+            for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry())
+                if (entry.getName().endsWith(".p7s"))
+                    signature = zip.readAllBytes();
+        }
+
+        assertEquals(Format.CAdES, SignatureFormatDetector.detect(new InMemoryDocument(signature)));
+    }
+
+    @Test
+    public void testXMLFormats() throws IOException {
+        assertEquals(Format.UNSIGNED, SignatureFormatDetector.detect(resource("general_agenda.xml")));
+
+        var signed = "<?xml version=\"1.0\"?><root><ds:Signature xmlns:ds=\"http://www.w3.org/2000/09/xmldsig#\">"
+                + "<ds:Object><xades:QualifyingProperties xmlns:xades=\"http://uri.etsi.org/01903/v1.3.2#\"/>"
+                + "</ds:Object></ds:Signature></root>";
+        assertEquals(Format.XAdES, SignatureFormatDetector.detect(new InMemoryDocument(signed.getBytes())));
+
+        var xmldsig = "<root><ds:Signature xmlns:ds=\"http://www.w3.org/2000/09/xmldsig#\"/></root>";
+        assertEquals(Format.UNKNOWN, SignatureFormatDetector.detect(new InMemoryDocument(xmldsig.getBytes())));
+    }
+
+    @Test
+    public void testOtherDocumentsAreUnknown() throws IOException {
+        assertEquals(Format.UNKNOWN, SignatureFormatDetector.detect(resource("sample.png")));
+        assertEquals(Format.UNKNOWN, SignatureFormatDetector.detect(resource("sample.txt")));
+    }
+}
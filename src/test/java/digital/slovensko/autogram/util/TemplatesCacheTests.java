@@ -0,0 +1,53 @@
+package digital.slovensko.autogram.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.jupiter.api.Test;
+
+public class TemplatesCacheTests {
+    private static final String STYLESHEET = """
+            <xsl:stylesheet version="1.0" xmlns:xsl="http://www.w3.org/1999/XSL/Transform">
+                <xsl:output method="text"/>
+                <xsl:template match="/">Hello <xsl:value-of select="/a"/></xsl:template>
+            </xsl:stylesheet>
+            """;
+
+    @Test
+    public void testCompiledStylesheetTransformsAndIsShared() throws Exception {
+        var cache = new TemplatesCache(4);
+        var templates = cache.get(STYLESHEET);
+        assertSame(templates, cache.get(STYLESHEET));
+
+        var output = new StringWriter();
+        templates.newTransformer().transform(new StreamSource(new StringReader("<a>world</a>")),
+                new StreamResult(output));
+        assertEquals("Hello world", output.toString());
+    }
+
+    @Test
+    public void testTextIsNotDecodedByDeclaredEncoding() throws Exception {
+        var stylesheet = "<?xml version=\"1.0\" encoding=\"ISO-8859-2\"?>" + STYLESHEET.replace("Hello", "Ahoj, čo");
+
+        var output = new StringWriter();
+        new TemplatesCache(4).get(stylesheet).newTransformer().transform(
+                new StreamSource(new StringReader("<a>svet</a>")), new StreamResult(output));
+        assertEquals("Ahoj, čo svet", output.toString());
+    }
+
+    @Test
+    public void testInvalidStylesheetIsNotCached() {
+        var cache = new TemplatesCache(2);
+
+        assertThrows(TransformerConfigurationException.class, () -> cache.get("<not-a-stylesheet"));
+        assertEquals(0, cache.size());
+    }
+}